@@ -1,12 +1,16 @@
 package com.ulisesbocchio.jasyptmavenplugin.encrypt;
 
+import com.ulisesbocchio.jasyptspringboot.encryptor.BatchStringEncryptor;
 import lombok.extern.slf4j.Slf4j;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.properties.EncryptableProperties;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import static java.util.regex.Pattern.DOTALL;
 
@@ -48,7 +52,7 @@ public class EncryptionService {
      * @param sourceSuffix property suffix
      * @param targetPrefix property prefix
      * @param targetSuffix property suffix
-     * @param mutator      the replacement generator
+     * @param mutator      the replacement generator, given all the matched values at once
      * @return the replaced content
      */
     private String replaceAll(
@@ -57,16 +61,22 @@ public class EncryptionService {
             final String sourceSuffix,
             final String targetPrefix,
             final String targetSuffix,
-            final Function<String, String> mutator
+            final Function<List<String>, List<String>> mutator
     ) {
       String regex = quoteRegExSpecialChars(sourcePrefix) + "(.*?)" + quoteRegExSpecialChars(sourceSuffix);
       Pattern pattern = Pattern.compile(regex, DOTALL);
         Matcher matcher = pattern.matcher(templateText);
+        List<String> matches = new ArrayList<>();
+        while (matcher.find()) {
+            matches.add(matcher.group(1));
+        }
+        List<String> mutated = mutator.apply(matches);
+        matcher.reset();
         StringBuffer result = new StringBuffer();
         String replacement;
-        while (matcher.find()) {
+        for (int i = 0; matcher.find(); i++) {
             String matched = matcher.group(1);
-            replacement = targetPrefix + mutator.apply(matched) + targetSuffix;
+            replacement = targetPrefix + mutated.get(i) + targetSuffix;
             log.debug("Converting value {} to {}", matched, replacement);
             matcher.appendReplacement(result, "");
             result.append(replacement);
@@ -86,7 +96,7 @@ public class EncryptionService {
      * @param decryptSuffix a {@link java.lang.String} object
      */
     public String decrypt(final String input, String encryptPrefix, String encryptSuffix, String decryptPrefix, String decryptSuffix) {
-        return replaceAll(input, encryptPrefix, encryptSuffix, decryptPrefix, decryptSuffix, encryptor::decrypt);
+        return replaceAll(input, encryptPrefix, encryptSuffix, decryptPrefix, decryptSuffix, values -> BatchStringEncryptor.decryptAll(encryptor, values));
     }
 
     /**
@@ -110,7 +120,7 @@ public class EncryptionService {
      * @param decryptSuffix a {@link java.lang.String} object
      */
     public String encrypt(final String input, String encryptPrefix, String encryptSuffix, String decryptPrefix, String decryptSuffix) {
-        return replaceAll(input, decryptPrefix, decryptSuffix, encryptPrefix, encryptSuffix, encryptor::encrypt);
+        return replaceAll(input, decryptPrefix, decryptSuffix, encryptPrefix, encryptSuffix, values -> values.stream().map(encryptor::encrypt).collect(Collectors.toList()));
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.ulisesbocchio.jasyptspringbootstarter.caching;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySourceConverter;
+import com.ulisesbocchio.jasyptspringboot.InterceptionMode;
+import com.ulisesbocchio.jasyptspringboot.caching.RefreshScopeRefreshedEventListener;
+import com.ulisesbocchio.jasyptspringboot.filter.DefaultPropertyFilter;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RefreshScopeRefreshedEventListenerTest {
+
+    private final AtomicInteger decryptions = new AtomicInteger();
+    private final StandardEnvironment environment = new StandardEnvironment();
+    private RefreshScopeRefreshedEventListener listener;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        EncryptablePropertyResolver resolver = value -> {
+            if (value.startsWith("ENC(")) {
+                decryptions.incrementAndGet();
+                return "decrypted-" + value.substring(4, value.length() - 1);
+            }
+            return value;
+        };
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("changed", "ENC(changed)");
+        properties.put("unchanged", "ENC(unchanged)");
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        JasyptEncryptorConfigurationProperties config = new JasyptEncryptorConfigurationProperties();
+        config.setRefreshedEventClasses(Collections.singletonList(CustomRefreshEvent.class.getName()));
+        EncryptablePropertySourceConverter converter = new EncryptablePropertySourceConverter(InterceptionMode.WRAPPER, Collections.emptyList(), resolver, new DefaultPropertyFilter(), config.getCache());
+        converter.convertPropertySources(environment.getPropertySources());
+        listener = new RefreshScopeRefreshedEventListener(environment, converter, config);
+        listener.afterPropertiesSet();
+        readAll();
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    public void context_refresh_only_evicts_changed_keys() {
+        //As published by ContextRefresher.refresh()
+        listener.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("changed")));
+        listener.onApplicationEvent(new RefreshScopeRefreshedEvent());
+
+        readAll();
+        assertEquals(3, decryptions.get());
+    }
+
+    @Test
+    public void refresh_scope_refresh_alone_clears_everything() {
+        listener.onApplicationEvent(new RefreshScopeRefreshedEvent());
+        readAll();
+        assertEquals(4, decryptions.get());
+
+        listener.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("changed")));
+        listener.onApplicationEvent(new RefreshScopeRefreshedEvent());
+        readAll();
+        assertEquals(5, decryptions.get());
+
+        //Only the event right after the change event is skipped
+        listener.onApplicationEvent(new RefreshScopeRefreshedEvent());
+        readAll();
+        assertEquals(7, decryptions.get());
+    }
+
+    @Test
+    public void keyed_refresh_is_correlated_across_threads() throws Exception {
+        Thread publisher = new Thread(() -> listener.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("changed"))));
+        publisher.start();
+        publisher.join();
+        listener.onApplicationEvent(new RefreshScopeRefreshedEvent());
+        readAll();
+        assertEquals(3, decryptions.get());
+    }
+
+    @Test
+    public void refresh_without_keys_in_between_is_not_skipped() {
+        listener.onApplicationEvent(new EnvironmentChangeEvent(Collections.singleton("changed")));
+        listener.onApplicationEvent(new CustomRefreshEvent(this));
+        readAll();
+        assertEquals(4, decryptions.get());
+
+        //The change event doesn't cover the refresh without keys, so this one refreshes everything again
+        listener.onApplicationEvent(new RefreshScopeRefreshedEvent());
+        readAll();
+        assertEquals(6, decryptions.get());
+    }
+
+    private void readAll() {
+        assertEquals("decrypted-changed", environment.getProperty("changed"));
+        assertEquals("decrypted-unchanged", environment.getProperty("unchanged"));
+    }
+
+    public static class CustomRefreshEvent extends ApplicationEvent {
+        public CustomRefreshEvent(Object source) {
+            super(source);
+        }
+    }
+}
@@ -1,5 +1,9 @@
 package com.ulisesbocchio.jasyptspringboot;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * An interface to resolve property values that may be encrypted.
  *
@@ -16,4 +20,43 @@ public interface EncryptablePropertyResolver {
      * @return either the same value if the value is not encrypted, or the decrypted version.
      */
     String resolvePropertyValue(String value);
+
+    /**
+     * Resolves many values at once, letting implementations decrypt them in batch. Fails as a whole if any of the
+     * values can't be resolved, resolve them one by one to find out which.
+     *
+     * @param values the property values
+     * @return the resolved values, in the same order
+     */
+    default List<String> resolvePropertyValues(List<String> values) {
+        return values.stream().map(this::resolvePropertyValue).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns whether {@link #resolvePropertyValue(String)} may return something other than the value provided. Used to
+     * tag, once per property source, the properties that need to be resolved at all, so the rest are returned as they
+     * are. Implementations should only return {@code false} for values known to resolve to themselves.
+     *
+     * @param value the property value
+     * @return {@code false} if the value resolves to itself, {@code true} if it may not
+     */
+    default boolean mayResolve(String value) {
+        return true;
+    }
+
+    /**
+     * Discards any state derived from the environment, such as memoized placeholder resolutions. Called when the
+     * encryptable property sources are refreshed.
+     */
+    default void refresh() {
+    }
+
+    /**
+     * Discards any state derived from the given properties. Called when only the given properties are refreshed.
+     *
+     * @param names the names of the properties that changed
+     */
+    default void refresh(Collection<String> names) {
+        refresh();
+    }
 }
@@ -4,6 +4,10 @@ import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginLookup;
 import org.springframework.core.env.PropertySource;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * <p>EncryptablePropertySource interface.</p>
  *
@@ -38,6 +42,56 @@ public interface EncryptablePropertySource<T> extends OriginLookup<String> {
         }
     }
 
+    /**
+     * <p>refreshAndCount.</p>
+     * Same as {@link #refresh()}, reporting how many cached properties were cleared.
+     *
+     * @return the number of cached properties cleared
+     */
+    default int refreshAndCount() {
+        if(getDelegate() instanceof EncryptablePropertySource) {
+            return ((EncryptablePropertySource<?>) getDelegate()).refreshAndCount();
+        }
+        refresh();
+        return 0;
+    }
+
+    /**
+     * <p>refresh.</p>
+     * Refreshes the given properties only, leaving the rest of the cached properties untouched.
+     *
+     * @param names the names of the properties that changed
+     * @return the number of cached properties evicted
+     */
+    default int refresh(Collection<String> names) {
+        if(getDelegate() instanceof EncryptablePropertySource) {
+            return ((EncryptablePropertySource<?>) getDelegate()).refresh(names);
+        }
+        return 0;
+    }
+
+    /**
+     * <p>warmUp.</p>
+     * Resolves the given properties ahead of their first access, in batch where possible.
+     *
+     * @param names the names of the properties to resolve
+     * @return the names of the properties that could not be resolved
+     */
+    default Collection<String> warmUp(Collection<String> names) {
+        if(getDelegate() instanceof EncryptablePropertySource) {
+            return ((EncryptablePropertySource<?>) getDelegate()).warmUp(names);
+        }
+        List<String> failed = new ArrayList<>();
+        for (String name : names) {
+            try {
+                getProperty(name);
+            } catch (RuntimeException e) {
+                failed.add(name);
+            }
+        }
+        return failed;
+    }
+
     /**
      * <p>getProperty.</p>
      *
@@ -3,6 +3,7 @@ package com.ulisesbocchio.jasyptspringboot;
 import com.ulisesbocchio.jasyptspringboot.aop.EncryptableMutablePropertySourcesInterceptor;
 import com.ulisesbocchio.jasyptspringboot.aop.EncryptablePropertySourceMethodInterceptor;
 import com.ulisesbocchio.jasyptspringboot.configuration.EnvCopy;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import com.ulisesbocchio.jasyptspringboot.util.ClassUtils;
 import com.ulisesbocchio.jasyptspringboot.wrapper.*;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +40,7 @@ public class EncryptablePropertySourceConverter {
     private final List<Class<PropertySource<?>>> skipPropertySourceClasses;
     private final EncryptablePropertyResolver propertyResolver;
     private final EncryptablePropertyFilter propertyFilter;
+    private final CacheConfigurationProperties cacheConfig;
 
     /**
      * <p>Constructor for EncryptablePropertySourceConverter.</p>
@@ -49,10 +51,24 @@ public class EncryptablePropertySourceConverter {
      * @param propertyFilter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
      */
     public EncryptablePropertySourceConverter(InterceptionMode interceptionMode, List<Class<PropertySource<?>>> skipPropertySourceClasses, EncryptablePropertyResolver propertyResolver, EncryptablePropertyFilter propertyFilter) {
+        this(interceptionMode, skipPropertySourceClasses, propertyResolver, propertyFilter, new CacheConfigurationProperties());
+    }
+
+    /**
+     * <p>Constructor for EncryptablePropertySourceConverter.</p>
+     *
+     * @param interceptionMode a {@link com.ulisesbocchio.jasyptspringboot.InterceptionMode} object
+     * @param skipPropertySourceClasses a {@link java.util.List} object
+     * @param propertyResolver a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
+     * @param propertyFilter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
+     * @param cacheConfig a {@link com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties} object
+     */
+    public EncryptablePropertySourceConverter(InterceptionMode interceptionMode, List<Class<PropertySource<?>>> skipPropertySourceClasses, EncryptablePropertyResolver propertyResolver, EncryptablePropertyFilter propertyFilter, CacheConfigurationProperties cacheConfig) {
         this.interceptionMode = interceptionMode;
         this.skipPropertySourceClasses = Stream.concat(skipPropertySourceClasses.stream(), defaultSkipPropertySourceClasses().stream()).collect(toList());
         this.propertyResolver = propertyResolver;
         this.propertyFilter = propertyFilter;
+        this.cacheConfig = cacheConfig;
     }
 
     static List<Class<PropertySource<?>>> defaultSkipPropertySourceClasses() {
@@ -78,6 +94,15 @@ public class EncryptablePropertySourceConverter {
         }
     }
 
+    /**
+     * <p>Getter for the field <code>cacheConfig</code>.</p>
+     *
+     * @return a {@link com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties} object
+     */
+    public CacheConfigurationProperties getCacheConfig() {
+        return cacheConfig;
+    }
+
     /**
      * <p>convertPropertySources.</p>
      *
@@ -162,7 +187,7 @@ public class EncryptablePropertySourceConverter {
         proxyFactory.setProxyTargetClass(true);
         proxyFactory.addInterface(EncryptablePropertySource.class);
         proxyFactory.setTarget(propertySource);
-        proxyFactory.addAdvice(new EncryptablePropertySourceMethodInterceptor<>(propertySource, propertyResolver, propertyFilter));
+        proxyFactory.addAdvice(new EncryptablePropertySourceMethodInterceptor<>(propertySource, propertyResolver, propertyFilter, cacheConfig));
         return (PropertySource<T>) proxyFactory.getProxy();
     }
 
@@ -172,13 +197,13 @@ public class EncryptablePropertySourceConverter {
         if (needsProxyAnyway(propertySource)) {
             encryptablePropertySource = proxyPropertySource(propertySource);
         } else if (propertySource instanceof SystemEnvironmentPropertySource) {
-            encryptablePropertySource = (PropertySource<T>) new EncryptableSystemEnvironmentPropertySourceWrapper((SystemEnvironmentPropertySource) propertySource, propertyResolver, propertyFilter);
+            encryptablePropertySource = (PropertySource<T>) new EncryptableSystemEnvironmentPropertySourceWrapper((SystemEnvironmentPropertySource) propertySource, propertyResolver, propertyFilter, cacheConfig);
         } else if (propertySource instanceof MapPropertySource) {
-            encryptablePropertySource = (PropertySource<T>) new EncryptableMapPropertySourceWrapper((MapPropertySource) propertySource, propertyResolver, propertyFilter);
+            encryptablePropertySource = (PropertySource<T>) new EncryptableMapPropertySourceWrapper((MapPropertySource) propertySource, propertyResolver, propertyFilter, cacheConfig);
         } else if (propertySource instanceof EnumerablePropertySource) {
-            encryptablePropertySource = new EncryptableEnumerablePropertySourceWrapper<>((EnumerablePropertySource) propertySource, propertyResolver, propertyFilter);
+            encryptablePropertySource = new EncryptableEnumerablePropertySourceWrapper<>((EnumerablePropertySource) propertySource, propertyResolver, propertyFilter, cacheConfig);
         } else {
-            encryptablePropertySource = new EncryptablePropertySourceWrapper<>(propertySource, propertyResolver, propertyFilter);
+            encryptablePropertySource = new EncryptablePropertySourceWrapper<>(propertySource, propertyResolver, propertyFilter, cacheConfig);
         }
         return encryptablePropertySource;
     }
@@ -3,10 +3,13 @@ package com.ulisesbocchio.jasyptspringboot.aop;
 import com.ulisesbocchio.jasyptspringboot.caching.CachingDelegateEncryptablePropertySource;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.core.env.PropertySource;
 
+import java.util.Collection;
+
 /**
  * <p>EncryptablePropertySourceMethodInterceptor class.</p>
  *
@@ -26,6 +29,18 @@ public class EncryptablePropertySourceMethodInterceptor<T> extends CachingDelega
         super(delegate, resolver, filter);
     }
 
+    /**
+     * <p>Constructor for EncryptablePropertySourceMethodInterceptor.</p>
+     *
+     * @param delegate a {@link org.springframework.core.env.PropertySource} object
+     * @param resolver a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
+     * @param filter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
+     * @param cacheConfig a {@link com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties} object
+     */
+    public EncryptablePropertySourceMethodInterceptor(PropertySource<T> delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter, CacheConfigurationProperties cacheConfig) {
+        super(delegate, resolver, filter, cacheConfig);
+    }
+
     /** {@inheritDoc} */
     @Override
     public Object invoke(MethodInvocation invocation) throws Throwable {
@@ -33,6 +48,15 @@ public class EncryptablePropertySourceMethodInterceptor<T> extends CachingDelega
             refresh();
             return null;
         }
+        if (isRefreshAndCountCall(invocation)) {
+            return refreshAndCount();
+        }
+        if (isRefreshNamesCall(invocation)) {
+            return refresh(getNamesArgument(invocation));
+        }
+        if (isWarmUpCall(invocation)) {
+            return warmUp(getNamesArgument(invocation));
+        }
         if (isGetDelegateCall(invocation)) {
             return getDelegate();
         }
@@ -50,8 +74,31 @@ public class EncryptablePropertySourceMethodInterceptor<T> extends CachingDelega
         return invocation.getMethod().getName().equals("getDelegate");
     }
 
+    @SuppressWarnings("unchecked")
+    private Collection<String> getNamesArgument(MethodInvocation invocation) {
+        return (Collection<String>) invocation.getArguments()[0];
+    }
+
     private boolean isRefreshCall(MethodInvocation invocation) {
-        return invocation.getMethod().getName().equals("refresh");
+        return invocation.getMethod().getName().equals("refresh")
+                && invocation.getMethod().getParameters().length == 0;
+    }
+
+    private boolean isRefreshAndCountCall(MethodInvocation invocation) {
+        return invocation.getMethod().getName().equals("refreshAndCount")
+                && invocation.getMethod().getParameters().length == 0;
+    }
+
+    private boolean isRefreshNamesCall(MethodInvocation invocation) {
+        return invocation.getMethod().getName().equals("refresh")
+                && invocation.getMethod().getParameters().length == 1
+                && invocation.getMethod().getParameters()[0].getType() == Collection.class;
+    }
+
+    private boolean isWarmUpCall(MethodInvocation invocation) {
+        return invocation.getMethod().getName().equals("warmUp")
+                && invocation.getMethod().getParameters().length == 1
+                && invocation.getMethod().getParameters()[0].getType() == Collection.class;
     }
 
     private boolean isGetPropertyCall(MethodInvocation invocation) {
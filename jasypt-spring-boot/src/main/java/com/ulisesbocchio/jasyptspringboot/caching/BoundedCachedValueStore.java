@@ -0,0 +1,151 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/**
+ * <p>BoundedCachedValueStore class.</p>
+ * {@link CachedValueStore} that keeps entries in least recently used order and evicts the coldest ones once the
+ * maximum number of entries or the maximum total weight is exceeded. The weight of an entry is the number of characters
+ * it holds: the property name, the original value and the resolved value.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+class BoundedCachedValueStore implements CachedValueStore {
+    private final int maxEntries;
+    private final long maxWeight;
+    private final LinkedHashMap<String, CachedValue> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long weight = 0;
+
+    /**
+     * <p>Constructor for BoundedCachedValueStore.</p>
+     *
+     * @param maxEntries max number of entries, or {@code 0} for no limit
+     * @param maxWeight  max total weight in characters, or {@code 0} for no limit
+     */
+    BoundedCachedValueStore(int maxEntries, long maxWeight) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public CachedValue get(String name) {
+        lock.lock();
+        try {
+            return cache.get(name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putIfAbsent(String name, CachedValue value) {
+        lock.lock();
+        try {
+            if (!cache.containsKey(name)) {
+                cache.put(name, value);
+                weight += weightOf(name, value);
+                evict();
+            } else {
+                value.release();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replace(String name, CachedValue oldValue, CachedValue newValue) {
+        lock.lock();
+        try {
+            if (cache.get(name) == oldValue) {
+                cache.put(name, newValue);
+                weight += weightOf(name, newValue) - weightOf(name, oldValue);
+                oldValue.release();
+                evict();
+            } else {
+                newValue.release();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return cache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Set<String> keys() {
+        lock.lock();
+        try {
+            return new HashSet<>(cache.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int removeIf(BiPredicate<String, CachedValue> predicate) {
+        lock.lock();
+        try {
+            int removed = 0;
+            Iterator<Map.Entry<String, CachedValue>> entries = cache.entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<String, CachedValue> entry = entries.next();
+                if (predicate.test(entry.getKey(), entry.getValue())) {
+                    weight -= weightOf(entry.getKey(), entry.getValue());
+                    entry.getValue().release();
+                    entries.remove();
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            cache.values().forEach(CachedValue::release);
+            cache.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, CachedValue>> eldest = cache.entrySet().iterator();
+        while (isOverLimit() && eldest.hasNext()) {
+            Map.Entry<String, CachedValue> entry = eldest.next();
+            weight -= weightOf(entry.getKey(), entry.getValue());
+            entry.getValue().release();
+            eldest.remove();
+        }
+    }
+
+    private boolean isOverLimit() {
+        return (maxEntries > 0 && cache.size() > maxEntries) || (maxWeight > 0 && weight > maxWeight);
+    }
+
+    private static long weightOf(String name, CachedValue value) {
+        return (long) name.length() + value.weight();
+    }
+}
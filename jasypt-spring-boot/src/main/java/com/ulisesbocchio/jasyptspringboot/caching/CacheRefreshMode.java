@@ -0,0 +1,20 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+/**
+ * <p>CacheRefreshMode class.</p>
+ * How a {@link CachingResolver} reacts to a refresh.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public enum CacheRefreshMode {
+    /**
+     * The cache is cleared, values are resolved again on next access.
+     */
+    CLEAR,
+    /**
+     * The cached properties are resolved again in the background into a new generation of the cache, readers keep
+     * getting the previous generation until the new one is published.
+     */
+    GENERATIONAL
+}
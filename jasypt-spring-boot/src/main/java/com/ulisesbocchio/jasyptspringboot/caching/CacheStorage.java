@@ -0,0 +1,20 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+/**
+ * <p>CacheStorage class.</p>
+ * Where a {@link CachingResolver} keeps the resolved values.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public enum CacheStorage {
+    /**
+     * Resolved values are kept as regular {@link String}s in the heap.
+     */
+    HEAP,
+    /**
+     * Resolved values are kept outside the heap in direct {@link java.nio.ByteBuffer}s, which are zeroed when the
+     * values are evicted or refreshed. {@link String}s are only created when the values are read.
+     */
+    OFF_HEAP
+}
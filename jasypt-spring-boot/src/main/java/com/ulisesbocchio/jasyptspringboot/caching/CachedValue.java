@@ -0,0 +1,242 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
+
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * <p>CachedValue class.</p>
+ * A property value resolved by a {@link CachingResolver}, along with the original value it was resolved from.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+abstract class CachedValue {
+    private final Origin origin;
+
+    CachedValue(Origin origin) {
+        this.origin = origin;
+    }
+
+    /**
+     * <p>Create a cached value as configured.</p>
+     *
+     * @param config        the cache configuration, telling where the resolved value should be kept and how the
+     *                      original value should be remembered
+     * @param originValue   the original property value
+     * @param resolvedValue the resolved property value
+     * @return the cached value
+     */
+    static CachedValue of(CacheConfigurationProperties config, String originValue, String resolvedValue) {
+        Origin origin = config.isCompact() ? new FingerprintOrigin(originValue) : new FullOrigin(originValue);
+        if (config.getStorage() == CacheStorage.OFF_HEAP && resolvedValue != null) {
+            return new OffHeap(origin, resolvedValue);
+        }
+        return new Heap(origin, resolvedValue);
+    }
+
+    boolean isFor(Object originValue) {
+        return origin.matches(originValue);
+    }
+
+    /**
+     * @param relaxedNames property names, as returned by {@link CachingResolver#relaxed(String)}
+     * @return whether the original value has placeholders that may mention any of the given property names
+     */
+    boolean mentionsAny(Set<String> relaxedNames) {
+        return origin.mentionsAny(relaxedNames);
+    }
+
+    /**
+     * @return the resolved value, or {@code null} if it was released
+     */
+    abstract String resolvedValue();
+
+    abstract int resolvedLength();
+
+    int weight() {
+        return origin.weight() + resolvedLength();
+    }
+
+    /**
+     * Discards the resolved value once it's no longer cached.
+     */
+    void release() {
+    }
+
+    boolean isReleased() {
+        return false;
+    }
+
+    private static class Heap extends CachedValue {
+        private final String resolvedValue;
+
+        Heap(Origin origin, String resolvedValue) {
+            super(origin);
+            this.resolvedValue = resolvedValue;
+        }
+
+        @Override
+        String resolvedValue() {
+            return resolvedValue;
+        }
+
+        @Override
+        int resolvedLength() {
+            return resolvedValue == null ? 0 : resolvedValue.length();
+        }
+    }
+
+    private static class OffHeap extends CachedValue {
+        private final ByteBuffer buffer;
+        private final int resolvedLength;
+        private boolean released = false;
+
+        OffHeap(Origin origin, String resolvedValue) {
+            super(origin);
+            byte[] bytes = resolvedValue.getBytes(StandardCharsets.UTF_8);
+            this.buffer = ByteBuffer.allocateDirect(bytes.length);
+            this.buffer.put(bytes);
+            this.resolvedLength = resolvedValue.length();
+            Arrays.fill(bytes, (byte) 0);
+        }
+
+        @Override
+        synchronized String resolvedValue() {
+            if (released) {
+                return null;
+            }
+            byte[] bytes = new byte[buffer.capacity()];
+            buffer.get(0, bytes);
+            try {
+                return new String(bytes, StandardCharsets.UTF_8);
+            } finally {
+                Arrays.fill(bytes, (byte) 0);
+            }
+        }
+
+        @Override
+        int resolvedLength() {
+            return resolvedLength;
+        }
+
+        @Override
+        synchronized void release() {
+            if (!released) {
+                released = true;
+                for (int i = 0; i < buffer.capacity(); i++) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+        }
+
+        @Override
+        synchronized boolean isReleased() {
+            return released;
+        }
+    }
+
+    private interface Origin {
+        boolean matches(Object value);
+
+        boolean mentionsAny(Set<String> relaxedNames);
+
+        int weight();
+    }
+
+    private static class FullOrigin implements Origin {
+        private final String value;
+
+        FullOrigin(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            return this.value.equals(value);
+        }
+
+        @Override
+        public boolean mentionsAny(Set<String> relaxedNames) {
+            return CachingResolver.mentionsAny(value, relaxedNames);
+        }
+
+        @Override
+        public int weight() {
+            return value.length();
+        }
+    }
+
+    /**
+     * Remembers the original value by its length and a 128-bit fingerprint (SHA-256, truncated) instead of keeping it.
+     * The value itself is only weakly referenced: while it's still around (usually held by the property source) it's
+     * compared by reference first, and fully when the fingerprints match. Once it's gone, the fingerprint alone
+     * decides, so it has to be collision resistant.
+     */
+    private static class FingerprintOrigin implements Origin {
+        /**
+         * The 16 bytes of the fingerprint plus the 32 of the weak reference, in characters like the rest of the weight.
+         */
+        private static final int WEIGHT = (16 + 32) / Character.BYTES;
+        private final WeakReference<String> reference;
+        private final int length;
+        private final long fingerprintHigh;
+        private final long fingerprintLow;
+        private final boolean placeholders;
+
+        FingerprintOrigin(String value) {
+            this.reference = new WeakReference<>(value);
+            this.length = value.length();
+            ByteBuffer fingerprint = fingerprint(value);
+            this.fingerprintHigh = fingerprint.getLong();
+            this.fingerprintLow = fingerprint.getLong();
+            this.placeholders = value.contains("${");
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            String referent = reference.get();
+            if (referent == value) {
+                return true;
+            }
+            if (!(value instanceof String) || ((String) value).length() != length) {
+                return false;
+            }
+            if (referent != null) {
+                return referent.equals(value);
+            }
+            ByteBuffer fingerprint = fingerprint((String) value);
+            return fingerprint.getLong() == fingerprintHigh && fingerprint.getLong() == fingerprintLow;
+        }
+
+        @Override
+        public boolean mentionsAny(Set<String> relaxedNames) {
+            String referent = reference.get();
+            if (referent == null) {
+                //Can't tell which properties it mentions anymore
+                return placeholders;
+            }
+            return placeholders && CachingResolver.mentionsAny(referent, relaxedNames);
+        }
+
+        @Override
+        public int weight() {
+            return WEIGHT;
+        }
+
+        private static ByteBuffer fingerprint(String value) {
+            try {
+                return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+            } catch (NoSuchAlgorithmException e) {
+                //SHA-256 is required on every Java platform
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
+
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * <p>CachedValueStore interface.</p>
+ * Storage used by {@link CachingResolver} to keep resolved values by property name. Values that are evicted, replaced,
+ * removed or not stored at all are released.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+interface CachedValueStore {
+
+    /**
+     * <p>Create the store that matches the cache configuration.</p>
+     *
+     * @param config the cache configuration
+     * @return an unbounded store, or a bounded one if max entries or max weight are configured
+     */
+    static CachedValueStore create(CacheConfigurationProperties config) {
+        if (config.getMaxEntries() > 0 || config.getMaxWeight() > 0) {
+            return new BoundedCachedValueStore(config.getMaxEntries(), config.getMaxWeight());
+        }
+        return new ConcurrentCachedValueStore();
+    }
+
+    CachedValue get(String name);
+
+    void putIfAbsent(String name, CachedValue value);
+
+    void replace(String name, CachedValue oldValue, CachedValue newValue);
+
+    int size();
+
+    Set<String> keys();
+
+    int removeIf(BiPredicate<String, CachedValue> predicate);
+
+    void clear();
+}
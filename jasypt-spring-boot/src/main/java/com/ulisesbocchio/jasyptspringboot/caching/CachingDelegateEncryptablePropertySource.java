@@ -3,6 +3,7 @@ package com.ulisesbocchio.jasyptspringboot.caching;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySource;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +11,8 @@ import org.springframework.core.env.PropertySource;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 
+import java.util.Collection;
+
 /**
  * <p>CachingDelegateEncryptablePropertySource class.</p>
  *
@@ -31,15 +34,29 @@ public class CachingDelegateEncryptablePropertySource<T> extends PropertySource<
      * @param filter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
      */
     public CachingDelegateEncryptablePropertySource(PropertySource<T> delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter) {
+        this(delegate, resolver, filter, new CacheConfigurationProperties());
+    }
+
+    /**
+     * <p>Constructor for CachingDelegateEncryptablePropertySource.</p>
+     *
+     * @param delegate a {@link org.springframework.core.env.PropertySource} object
+     * @param resolver a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
+     * @param filter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
+     * @param cacheConfig a {@link com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties} object
+     */
+    public CachingDelegateEncryptablePropertySource(PropertySource<T> delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter, CacheConfigurationProperties cacheConfig) {
         super(delegate.getName(), delegate.getSource());
         Assert.notNull(delegate, "PropertySource delegate cannot be null");
         Assert.notNull(resolver, "EncryptablePropertyResolver cannot be null");
         Assert.notNull(filter, "EncryptablePropertyFilter cannot be null");
+        Assert.notNull(cacheConfig, "CacheConfigurationProperties cannot be null");
         this.delegate = delegate;
         this.cachingResolver = new CachingResolver(
             resolver,
             filter,
-            delegate
+            delegate,
+            cacheConfig
         );
     }
 
@@ -59,8 +76,30 @@ public class CachingDelegateEncryptablePropertySource<T> extends PropertySource<
     /** {@inheritDoc} */
     @Override
     public void refresh() {
+        refreshAndCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int refreshAndCount() {
         log.info("Property Source {} refreshed", delegate.getName());
-        cachingResolver.refresh();
+        return cachingResolver.refreshAndCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Collection<String> warmUp(Collection<String> names) {
+        return cachingResolver.warmUp(names);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int refresh(Collection<String> names) {
+        int evicted = cachingResolver.refresh(names);
+        if (evicted > 0) {
+            log.info("Property Source {} refreshed {} properties", delegate.getName(), evicted);
+        }
+        return evicted;
     }
 
     /** {@inheritDoc} */
@@ -2,13 +2,30 @@ package com.ulisesbocchio.jasyptspringboot.caching;
 
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.exception.DecryptionException;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.PropertySource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * <p>CachingResolver class.</p>
@@ -19,6 +36,8 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 @Slf4j
 public class CachingResolver {
+    private static final String PLACEHOLDER_PREFIX = "${";
+    private static final ExecutorService GENERATION_EXECUTOR = generationExecutor();
     private final EncryptablePropertyResolver resolver;
     private final EncryptablePropertyFilter filter;
     /**
@@ -29,7 +48,15 @@ public class CachingResolver {
      */
     @Getter
     private final PropertySource<?> delegate;
-    private final ConcurrentHashMap<String, CachedValue> cache;
+    private final CacheConfigurationProperties cacheConfig;
+    private final SharedDecryptionCache sharedCache;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CachedValueStore cache;
+    private volatile CachedValueStore nextGeneration;
+    private final ConcurrentHashMap<String, InFlightValue> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, FailedValue> failures = new ConcurrentHashMap<>();
+    private volatile Set<String> encryptedKeys;
+    private volatile boolean tagged;
 
     /**
      * <p>Constructor for CachingResolver.</p>
@@ -39,10 +66,25 @@ public class CachingResolver {
      * @param delegate the delegate PropertySource to retrieve values from
      */
     public CachingResolver(EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter, PropertySource<?> delegate) {
+        this(resolver, filter, delegate, new CacheConfigurationProperties());
+    }
+
+    /**
+     * <p>Constructor for CachingResolver.</p>
+     *
+     * @param resolver    a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
+     * @param filter      a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
+     * @param delegate    the delegate PropertySource to retrieve values from
+     * @param cacheConfig the cache configuration
+     */
+    public CachingResolver(EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter, PropertySource<?> delegate, CacheConfigurationProperties cacheConfig) {
         this.resolver = resolver;
         this.filter = filter;
         this.delegate = delegate;
-        this.cache = new ConcurrentHashMap<>();
+        this.cacheConfig = cacheConfig;
+        this.cache = CachedValueStore.create(cacheConfig);
+        this.sharedCache = cacheConfig.isShared() ? SharedDecryptionCache.getInstance() : null;
+        this.tagged = !cacheConfig.isTagEncryptedKeys();
     }
 
     /**
@@ -63,42 +105,350 @@ public class CachingResolver {
             return originalValue;
         }
 
+        if (isTaggedPlain(name)) {
+            //Tagged as not needing resolution when the property source was loaded
+            return originalValue;
+        }
+
         CachedValue cachedValue = cache.get(name);
-        if (cachedValue != null && Objects.equals(originalValue, cachedValue.originValue)) {
+        if (cachedValue != null && cachedValue.isFor(originalValue)) {
             // If the original property has not changed, it is safe to return the cached result.
-            return cachedValue.resolvedValue;
+            String resolved = cachedValue.resolvedValue();
+            // Unless it was released by an eviction in the meantime.
+            if (resolved != null || !cachedValue.isReleased()) {
+                return resolved;
+            }
+        }
+        CachedValueStore next = nextGeneration;
+        if (next != null) {
+            //Resolved for the generation being built
+            CachedValue nextValue = next.get(name);
+            String resolved = nextValue != null && nextValue.isFor(originalValue) ? nextValue.resolvedValue() : null;
+            if (resolved != null) {
+                return resolved;
+            }
         }
 
         //originalValue must be String here
         if (filter.shouldInclude(delegate, name)) {
-            String originStringValue = (String) originalValue;
-            String resolved = resolver.resolvePropertyValue(originStringValue);
-            CachedValue newCachedValue = new CachedValue(originStringValue, resolved);
-            //If the mapping relationship in the cache changes during
-            // the calculation process, then ignore it directly.
-            if (cachedValue == null) {
-                cache.putIfAbsent(name, newCachedValue);
-            } else {
-                cache.replace(name, cachedValue, newCachedValue);
+            if (!tagged) {
+                tag();
+                if (isTaggedPlain(name)) {
+                    return originalValue;
+                }
+            }
+            FailedValue failedValue = failures.get(name);
+            if (failedValue != null && failedValue.isFor(originalValue)) {
+                throw failedValue.exception;
+            }
+            return resolveOnce(name, (String) originalValue, cachedValue);
+        }
+        return originalValue;
+    }
+
+    /**
+     * <p>Resolve the given properties ahead of their first access.</p>
+     * The properties not cached yet are resolved in one batch, see
+     * {@link EncryptablePropertyResolver#resolvePropertyValues(List)}. If the batch fails they are resolved one by one,
+     * as on first access, so only the failing ones are left out. With the shared cache they are always resolved one
+     * by one, through it.
+     *
+     * @param names the names of the properties to resolve
+     * @return the names of the properties that could not be resolved
+     */
+    public Collection<String> warmUp(Collection<String> names) {
+        List<String> pendingNames = new ArrayList<>();
+        List<String> originValues = new ArrayList<>();
+        List<CachedValue> staleValues = new ArrayList<>();
+        for (String name : names) {
+            Object originalValue = delegate.getProperty(name);
+            if (originalValue instanceof String && !isTaggedPlain(name) && filter.shouldInclude(delegate, name)) {
+                CachedValue cachedValue = cache.get(name);
+                if (cachedValue == null || !cachedValue.isFor(originalValue)) {
+                    pendingNames.add(name);
+                    originValues.add((String) originalValue);
+                    staleValues.add(cachedValue);
+                }
+            }
+        }
+        if (sharedCache == null && pendingNames.size() > 1) {
+            try {
+                List<String> resolvedValues = resolver.resolvePropertyValues(originValues);
+                for (int i = 0; i < pendingNames.size(); i++) {
+                    store(pendingNames.get(i), staleValues.get(i), CachedValue.of(cacheConfig, originValues.get(i), resolvedValues.get(i)));
+                }
+                return Collections.emptyList();
+            } catch (RuntimeException e) {
+                log.debug("Could not resolve {} properties of {} in batch, resolving them one by one", pendingNames.size(), delegate.getName(), e);
+            }
+        }
+        List<String> failed = new ArrayList<>();
+        for (String name : pendingNames) {
+            try {
+                resolveProperty(name);
+            } catch (RuntimeException e) {
+                log.debug("Could not resolve property {} of {}", name, delegate.getName(), e);
+                failed.add(name);
             }
+        }
+        return failed;
+    }
+
+    /**
+     * Concurrent misses for the same property name and original value are coalesced: the first caller resolves
+     * the value and stores it, the others wait for that result instead of decrypting it again.
+     */
+    private String resolveOnce(String name, String originStringValue, CachedValue cachedValue) {
+        InFlightValue pending = new InFlightValue(originStringValue);
+        InFlightValue existing = inFlight.putIfAbsent(name, pending);
+        if (existing != null) {
+            if (existing.owner != Thread.currentThread() && existing.originValue.equals(originStringValue)) {
+                return existing.await();
+            }
+            //The property changed while another value was being resolved, don't wait on a stale result.
+            // Re-entrant resolutions from the resolving thread itself are not coalesced either.
+            return resolve(originStringValue);
+        }
+        try {
+            String resolved = resolve(originStringValue);
+            store(name, cachedValue, CachedValue.of(cacheConfig, originStringValue, resolved));
+            failures.remove(name);
+            pending.complete(resolved);
             //return the result calculated this time
             return resolved;
+        } catch (DecryptionException e) {
+            pending.completeExceptionally(e);
+            rememberFailure(name, originStringValue, e);
+            throw e;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(name, pending);
         }
-        return originalValue;
+    }
+
+    private void store(String name, CachedValue cachedValue, CachedValue newCachedValue) {
+        CachedValueStore next = nextGeneration;
+        //If the mapping relationship in the cache changes during
+        // the calculation process, then ignore it directly.
+        if (next != null) {
+            //While a new generation is being built misses go into it, the current one is about to be dropped
+            next.putIfAbsent(name, newCachedValue);
+        } else if (cachedValue == null) {
+            cache.putIfAbsent(name, newCachedValue);
+        } else {
+            cache.replace(name, cachedValue, newCachedValue);
+        }
+    }
+
+    /**
+     * Properties are tagged on the first resolution rather than on construction, so the resolver is not initialized
+     * before the environment it is configured from is fully loaded.
+     */
+    private void tag() {
+        encryptedKeys = EncryptedPropertyKeys.getInstance().tag(delegate, resolver);
+        tagged = true;
+    }
+
+    private boolean isTaggedPlain(String name) {
+        Set<String> keys = encryptedKeys;
+        return keys != null && !keys.contains(name);
+    }
+
+    private void rememberFailure(String name, String originStringValue, DecryptionException e) {
+        long ttl = cacheConfig.getFailureTtl().toNanos();
+        if (ttl > 0) {
+            //Built once without a stack trace, it is thrown on every read until it expires
+            DecryptionException exception = new DecryptionException(e.getMessage(), e.getCause(), false);
+            failures.put(name, new FailedValue(originStringValue, exception, System.nanoTime() + ttl));
+        }
+    }
+
+    private String resolve(String value) {
+        return sharedCache != null ? sharedCache.resolve(resolver, cacheConfig, value) : resolver.resolvePropertyValue(value);
     }
 
     /**
      * <p>Refresh the cache.</p>
+     * Depending on the configured {@link CacheRefreshMode} the cache is either cleared or a new generation of it is
+     * resolved in the background.
      */
     public void refresh() {
+        refreshAndCount();
+    }
+
+    /**
+     * <p>Refresh the cache, see {@link #refresh()}.</p>
+     *
+     * @return the number of cached properties cleared, or to be resolved again in the new generation
+     */
+    public int refreshAndCount() {
+        if (cacheConfig.getRefreshMode() == CacheRefreshMode.GENERATIONAL) {
+            int cached = cache.size();
+            refreshGeneration();
+            return cached;
+        }
+        synchronized (this) {
+            generation.incrementAndGet();
+            discardNextGeneration();
+        }
         log.info("CachingResolver cache refreshed");
+        failures.clear();
+        resolver.refresh();
+        int cleared = cache.size();
         cache.clear();
+        if (sharedCache != null) {
+            sharedCache.clear(resolver);
+        }
+        return cleared;
+    }
+
+    /**
+     * <p>Refresh the given properties only.</p>
+     * Evicts the cached properties whose name matches one of the given names, using relaxed binding rules (case,
+     * dashes, dots and underscores are ignored), and the ones whose original value has placeholders mentioning them.
+     *
+     * @param names the names of the properties that changed
+     * @return the number of evicted properties
+     */
+    public int refresh(Collection<String> names) {
+        Set<String> relaxedNames = names.stream().map(CachingResolver::relaxed).collect(Collectors.toSet());
+        failures.keySet().removeIf(name -> relaxedNames.contains(relaxed(name)));
+        resolver.refresh(names);
+        int evicted = cache.removeIf((name, value) -> relaxedNames.contains(relaxed(name)) || value.mentionsAny(relaxedNames));
+        CachedValueStore next = nextGeneration;
+        if (next != null) {
+            next.removeIf((name, value) -> relaxedNames.contains(relaxed(name)) || value.mentionsAny(relaxedNames));
+        }
+        if (sharedCache != null) {
+            sharedCache.evict(resolver, value -> mentionsAny(value, relaxedNames));
+        }
+        log.debug("CachingResolver evicted {} properties", evicted);
+        return evicted;
+    }
+
+    /**
+     * @return whether the value has a placeholder for one of the given names, compared with relaxed binding rules
+     */
+    static boolean mentionsAny(String value, Set<String> relaxedNames) {
+        int start = value.indexOf(PLACEHOLDER_PREFIX);
+        while (start >= 0) {
+            int nameStart = start + PLACEHOLDER_PREFIX.length();
+            int nameEnd = nameStart;
+            while (nameEnd < value.length() && ":}$".indexOf(value.charAt(nameEnd)) < 0) {
+                nameEnd++;
+            }
+            if (relaxedNames.contains(relaxed(value.substring(nameStart, nameEnd)))) {
+                return true;
+            }
+            start = value.indexOf(PLACEHOLDER_PREFIX, nameStart);
+        }
+        return false;
+    }
+
+    static String relaxed(String name) {
+        StringBuilder relaxed = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                relaxed.append(c);
+            }
+        }
+        return relaxed.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Resolves the currently cached properties again into a new store, which replaces the current one when done.
+     * Readers keep using the current store in the meantime, and properties missing from it are resolved into the new
+     * one. If another refresh happens before this one is done, its result is discarded. New generations are built on
+     * a small pool of daemon threads shared by all the {@link CachingResolver} instances.
+     */
+    CompletableFuture<Void> refreshGeneration() {
+        long target;
+        CachedValueStore current;
+        CachedValueStore next = CachedValueStore.create(cacheConfig);
+        synchronized (this) {
+            target = generation.incrementAndGet();
+            current = cache;
+            discardNextGeneration();
+            nextGeneration = next;
+        }
+        failures.clear();
+        resolver.refresh();
+        if (sharedCache != null) {
+            sharedCache.clear(resolver);
+        }
+        return CompletableFuture.runAsync(() -> {
+            for (String name : current.keys()) {
+                if (generation.get() != target) {
+                    break;
+                }
+                Object originalValue = delegate.getProperty(name);
+                if (originalValue instanceof String && next.get(name) == null && filter.shouldInclude(delegate, name)) {
+                    try {
+                        String originStringValue = (String) originalValue;
+                        next.putIfAbsent(name, CachedValue.of(cacheConfig, originStringValue, resolve(originStringValue)));
+                    } catch (RuntimeException e) {
+                        //Left out of the new generation, it will be resolved again on next access
+                        log.warn("Could not resolve property {} for the new cache generation", name, e);
+                    }
+                }
+            }
+            synchronized (this) {
+                if (generation.get() == target) {
+                    cache = next;
+                    nextGeneration = null;
+                    log.info("CachingResolver cache refreshed, {} properties resolved again", next.size());
+                    current.clear();
+                }
+            }
+        }, GENERATION_EXECUTOR);
+    }
+
+    private void discardNextGeneration() {
+        CachedValueStore discarded = nextGeneration;
+        nextGeneration = null;
+        if (discarded != null) {
+            discarded.clear();
+        }
+    }
+
+    private static ExecutorService generationExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jasypt-cache-generation-");
+        threadFactory.setDaemon(true);
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @AllArgsConstructor
-    static class CachedValue {
+    private static class FailedValue {
         private final String originValue;
-        private final String resolvedValue;
+        private final DecryptionException exception;
+        private final long expiresAt;
+
+        boolean isFor(Object originValue) {
+            return this.originValue.equals(originValue) && System.nanoTime() - expiresAt < 0;
+        }
     }
-}
 
+    private static class InFlightValue extends CompletableFuture<String> {
+        private final String originValue;
+        private final Thread owner = Thread.currentThread();
+
+        InFlightValue(String originValue) {
+            this.originValue = originValue;
+        }
+
+        @SneakyThrows
+        String await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
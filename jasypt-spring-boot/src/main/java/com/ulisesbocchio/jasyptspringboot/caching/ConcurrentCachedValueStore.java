@@ -0,0 +1,66 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * <p>ConcurrentCachedValueStore class.</p>
+ * Unbounded {@link CachedValueStore} backed by a {@link ConcurrentHashMap}. Entries live until the cache is cleared.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+class ConcurrentCachedValueStore implements CachedValueStore {
+    private final ConcurrentHashMap<String, CachedValue> cache = new ConcurrentHashMap<>();
+
+    @Override
+    public CachedValue get(String name) {
+        return cache.get(name);
+    }
+
+    @Override
+    public void putIfAbsent(String name, CachedValue value) {
+        if (cache.putIfAbsent(name, value) != null) {
+            value.release();
+        }
+    }
+
+    @Override
+    public void replace(String name, CachedValue oldValue, CachedValue newValue) {
+        if (cache.replace(name, oldValue, newValue)) {
+            oldValue.release();
+        } else {
+            newValue.release();
+        }
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public Set<String> keys() {
+        return new HashSet<>(cache.keySet());
+    }
+
+    @Override
+    public int removeIf(BiPredicate<String, CachedValue> predicate) {
+        int removed = 0;
+        for (Map.Entry<String, CachedValue> entry : cache.entrySet()) {
+            if (predicate.test(entry.getKey(), entry.getValue()) && cache.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().release();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        removeIf((name, value) -> true);
+    }
+}
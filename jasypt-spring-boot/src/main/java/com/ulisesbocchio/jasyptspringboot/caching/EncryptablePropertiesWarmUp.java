@@ -0,0 +1,166 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector;
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySource;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>EncryptablePropertiesWarmUp class.</p>
+ * Decrypts, in parallel, every property of the encryptable property sources that the {@link EncryptablePropertyDetector}
+ * finds encrypted, so the values are already cached by their {@link CachingResolver} when first accessed. The properties
+ * of each property source are split in one batch per thread, see {@link EncryptablePropertySource#warmUp}.
+ * The warm-up is bounded by the configured timeout, properties not decrypted in time are decrypted on first access
+ * as usual. Each warm-up runs on its own pool of {@code warm-up-parallelism} threads, shut down once the warm-up is
+ * over: decryptions already running when the timeout expires are not interrupted, they complete in the background and
+ * fill the cache, but no new one starts. Properties that fail to decrypt are logged by name and left for the first
+ * access to report.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+@Slf4j
+public class EncryptablePropertiesWarmUp {
+    private final EncryptablePropertyDetector detector;
+    private final CacheConfigurationProperties cacheConfig;
+
+    /**
+     * <p>Constructor for EncryptablePropertiesWarmUp.</p>
+     *
+     * @param detector    a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector} object
+     * @param cacheConfig the cache configuration
+     */
+    public EncryptablePropertiesWarmUp(EncryptablePropertyDetector detector, CacheConfigurationProperties cacheConfig) {
+        this.detector = detector;
+        this.cacheConfig = cacheConfig;
+    }
+
+    /**
+     * <p>Decrypt the encrypted properties of the given property sources.</p>
+     *
+     * @param propertySources the property sources to warm up
+     * @return the number of properties decrypted before the timeout
+     */
+    public int warmUp(Iterable<PropertySource<?>> propertySources) {
+        List<WarmUpTask> tasks = new ArrayList<>();
+        propertySources.forEach(propertySource -> collectTasks(propertySource, tasks));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        int total = tasks.stream().mapToInt(task -> task.names.size()).sum();
+        long start = System.nanoTime();
+        Queue<WarmUpTask> pending = new ConcurrentLinkedQueue<>(tasks);
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicInteger decrypted = new AtomicInteger();
+        int workers = Math.min(tasks.size(), parallelism());
+        ExecutorService executor = warmUpExecutor(workers);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(CompletableFuture.runAsync(() -> drain(pending, stopped, decrypted), executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(cacheConfig.getWarmUpTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Encrypted properties warm-up timed out after {}, remaining properties will be decrypted on first access", cacheConfig.getWarmUpTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Encrypted properties warm-up failed", e.getCause());
+        } finally {
+            //Let the running decryptions finish, but don't start new ones
+            stopped.set(true);
+            executor.shutdown();
+        }
+        log.info("Warmed up {} of {} encrypted properties in {} ms", decrypted.get(), total, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return decrypted.get();
+    }
+
+    private void drain(Queue<WarmUpTask> pending, AtomicBoolean stopped, AtomicInteger decrypted) {
+        WarmUpTask task;
+        while (!stopped.get() && (task = pending.poll()) != null) {
+            decrypted.addAndGet(task.decrypt());
+        }
+    }
+
+    private void collectTasks(PropertySource<?> propertySource, List<WarmUpTask> tasks) {
+        if (propertySource instanceof CompositePropertySource) {
+            ((CompositePropertySource) propertySource).getPropertySources().forEach(source -> collectTasks(source, tasks));
+        } else if (propertySource instanceof EncryptablePropertySource && propertySource instanceof EnumerablePropertySource) {
+            PropertySource<?> original = unwrap((EncryptablePropertySource<?>) propertySource);
+            List<String> names = new ArrayList<>();
+            for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                Object value = original.getProperty(name);
+                if (value instanceof String && detector.isEncrypted((String) value)) {
+                    names.add(name);
+                }
+            }
+            int batchSize = Math.max(1, (names.size() + parallelism() - 1) / parallelism());
+            for (int from = 0; from < names.size(); from += batchSize) {
+                List<String> batch = names.subList(from, Math.min(from + batchSize, names.size()));
+                tasks.add(new WarmUpTask((EncryptablePropertySource<?>) propertySource, propertySource.getName(), batch));
+            }
+        }
+    }
+
+    private int parallelism() {
+        return Math.max(1, cacheConfig.getWarmUpParallelism());
+    }
+
+    private static PropertySource<?> unwrap(EncryptablePropertySource<?> propertySource) {
+        PropertySource<?> original = propertySource.getDelegate();
+        while (original instanceof EncryptablePropertySource) {
+            original = ((EncryptablePropertySource<?>) original).getDelegate();
+        }
+        return original;
+    }
+
+    private static ExecutorService warmUpExecutor(int threads) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jasypt-warm-up-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    private static class WarmUpTask {
+        private final EncryptablePropertySource<?> propertySource;
+        private final String sourceName;
+        private final List<String> names;
+
+        WarmUpTask(EncryptablePropertySource<?> propertySource, String sourceName, List<String> names) {
+            this.propertySource = propertySource;
+            this.sourceName = sourceName;
+            this.names = names;
+        }
+
+        int decrypt() {
+            Collection<String> failed;
+            try {
+                failed = propertySource.warmUp(names);
+            } catch (RuntimeException e) {
+                log.warn("Could not decrypt {} properties from {} during warm-up: {}", names.size(), sourceName, e.getClass().getSimpleName());
+                log.debug("Warm-up failure for property source {}", sourceName, e);
+                return 0;
+            }
+            //Only the names are logged, the failures may carry the values. Left for the first access to report
+            failed.forEach(name -> log.warn("Could not decrypt property {} from {} during warm-up", name, sourceName));
+            return names.size() - failed.size();
+        }
+    }
+}
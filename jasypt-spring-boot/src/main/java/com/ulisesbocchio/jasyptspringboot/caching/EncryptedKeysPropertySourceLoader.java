@@ -0,0 +1,48 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>EncryptedKeysPropertySourceLoader class.</p>
+ * {@link PropertySourceLoader} decorator that tags, right after parsing, the properties of the loaded property sources
+ * that need to be resolved, in {@link EncryptedPropertyKeys}.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public class EncryptedKeysPropertySourceLoader implements PropertySourceLoader {
+    private final PropertySourceLoader delegate;
+    private final EncryptablePropertyResolver resolver;
+
+    /**
+     * <p>Constructor for EncryptedKeysPropertySourceLoader.</p>
+     *
+     * @param delegate the loader that parses the resources
+     * @param resolver the resolver the property sources will be resolved with
+     */
+    public EncryptedKeysPropertySourceLoader(PropertySourceLoader delegate, EncryptablePropertyResolver resolver) {
+        this.delegate = delegate;
+        this.resolver = resolver;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String[] getFileExtensions() {
+        return delegate.getFileExtensions();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<PropertySource<?>> load(String name, Resource resource) throws IOException {
+        List<PropertySource<?>> propertySources = delegate.load(name, resource);
+        EncryptedPropertyKeys encryptedKeys = EncryptedPropertyKeys.getInstance();
+        propertySources.forEach(propertySource -> encryptedKeys.tag(propertySource, resolver));
+        return propertySources;
+    }
+}
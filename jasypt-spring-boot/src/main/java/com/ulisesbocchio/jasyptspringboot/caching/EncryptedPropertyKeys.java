@@ -0,0 +1,113 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.wrapper.OriginTrackedCompositePropertySource;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.core.env.PropertySource;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * <p>EncryptedPropertyKeys class.</p>
+ * Keeps, for the property sources loaded from files, the names of the properties whose values the
+ * {@link EncryptablePropertyResolver} may resolve to something else (encrypted values, placeholders). The values are
+ * checked once, when the property source is loaded or first resolved, so the {@link CachingResolver} returns every
+ * other property as is with a set lookup. Only immutable property sources are tagged, as their values can't change
+ * afterwards.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public final class EncryptedPropertyKeys {
+
+    private static final EncryptedPropertyKeys INSTANCE = new EncryptedPropertyKeys();
+
+    private final Map<PropertySource<?>, Tag> tags = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private EncryptedPropertyKeys() {
+    }
+
+    /**
+     * <p>Get the JVM wide instance.</p>
+     *
+     * @return the shared {@link EncryptedPropertyKeys}
+     */
+    public static EncryptedPropertyKeys getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * <p>Tag the properties of a property source that the resolver may resolve, if not tagged already.</p>
+     * The properties of an {@link OriginTrackedCompositePropertySource}, as built for
+     * {@code @EncryptablePropertySource} annotations and not added to afterwards, are the ones of all its property
+     * sources.
+     *
+     * @param propertySource the property source to tag
+     * @param resolver       the resolver the property source is resolved with
+     * @return the names of the properties to resolve, or null if the property source can't be tagged
+     */
+    public Set<String> tag(PropertySource<?> propertySource, EncryptablePropertyResolver resolver) {
+        if (propertySource instanceof OriginTrackedCompositePropertySource) {
+            ((OriginTrackedCompositePropertySource) propertySource).getPropertySources().forEach(source -> tag(source, resolver));
+            return get(propertySource);
+        }
+        Set<String> keys = get(propertySource);
+        if (keys != null || !isTaggable(propertySource)) {
+            return keys;
+        }
+        OriginTrackedMapPropertySource source = (OriginTrackedMapPropertySource) propertySource;
+        Set<String> encryptedKeys = new HashSet<>();
+        for (String name : source.getPropertyNames()) {
+            Object value = source.getProperty(name);
+            if (value instanceof String && resolver.mayResolve((String) value)) {
+                encryptedKeys.add(name);
+            }
+        }
+        keys = Collections.unmodifiableSet(encryptedKeys);
+        tags.put(propertySource, new Tag(propertySource, keys));
+        return keys;
+    }
+
+    /**
+     * <p>Get the tagged properties of a property source.</p>
+     * An {@link OriginTrackedCompositePropertySource} is tagged if all its property sources are.
+     *
+     * @param propertySource the property source
+     * @return the names of the properties to resolve, or null if the property source isn't tagged
+     */
+    public Set<String> get(PropertySource<?> propertySource) {
+        if (propertySource instanceof OriginTrackedCompositePropertySource) {
+            Set<String> keys = new HashSet<>();
+            for (PropertySource<?> source : ((OriginTrackedCompositePropertySource) propertySource).getPropertySources()) {
+                Set<String> sourceKeys = get(source);
+                if (sourceKeys == null) {
+                    return null;
+                }
+                keys.addAll(sourceKeys);
+            }
+            return keys;
+        }
+        Tag tag = tags.get(propertySource);
+        //Property sources are equal by name, make sure the tag is for this very instance
+        return tag != null && tag.source.get() == propertySource ? tag.keys : null;
+    }
+
+    private static boolean isTaggable(PropertySource<?> propertySource) {
+        return propertySource instanceof OriginTrackedMapPropertySource && ((OriginTrackedMapPropertySource) propertySource).isImmutable();
+    }
+
+    private static class Tag {
+        private final WeakReference<PropertySource<?>> source;
+        private final Set<String> keys;
+
+        Tag(PropertySource<?> source, Set<String> keys) {
+            this.source = new WeakReference<>(source);
+            this.keys = keys;
+        }
+    }
+}
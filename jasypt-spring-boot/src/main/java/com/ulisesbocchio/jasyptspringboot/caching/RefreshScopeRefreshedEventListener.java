@@ -16,13 +16,20 @@ import org.springframework.core.env.MutablePropertySources;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.env.PropertySources;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -39,14 +46,27 @@ public class RefreshScopeRefreshedEventListener implements ApplicationListener<A
     /** Constant <code>EVENT_CLASS_NAMES</code> */
     public static final List<String> EVENT_CLASS_NAMES = Arrays.asList(
             "org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent",
-            "org.springframework.cloud.context.environment.EnvironmentChangeEvent",
+            "org.springframework.cloud.context.environment.EnvironmentChangeEvent"
+    );
+    /** Constant <code>DECORATE_EVENT_CLASS_NAMES</code>, events that only make new property sources encryptable, keeping the cached properties */
+    public static final List<String> DECORATE_EVENT_CLASS_NAMES = Collections.singletonList(
             "org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent"
     );
+    private static final String REFRESH_SCOPE_REFRESHED_EVENT_CLASS_NAME = "org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent";
+    private static final String ENCRYPTOR_PREFIX = "jasypt.encryptor";
     private final ConfigurableEnvironment environment;
     private final EncryptablePropertySourceConverter converter;
     private final List<Class<?>> eventClasses = new ArrayList<>();
-    private final Map<String, Boolean> eventTriggersCache = new ConcurrentHashMap<>();
+    private final List<Class<?>> decorateEventClasses = new ArrayList<>();
+    private final Map<String, EventAction> eventTriggersCache = new ConcurrentHashMap<>();
     private final JasyptEncryptorConfigurationProperties config;
+    /**
+     * Set once an event carrying the changed keys is handled, and consumed by the next
+     * {@code RefreshScopeRefreshedEvent}. Spring Cloud's {@code ContextRefresher} publishes
+     * {@code EnvironmentChangeEvent} and then {@code RefreshScopeRefreshedEvent}, the latter doesn't need to refresh the
+     * caches again unless a refresh without keys happened in between.
+     */
+    private final AtomicBoolean keyedRefreshPending = new AtomicBoolean();
 
     /**
      * <p>Constructor for RefreshScopeRefreshedEventListener.</p>
@@ -66,44 +86,96 @@ public class RefreshScopeRefreshedEventListener implements ApplicationListener<A
     @SneakyThrows
     public void onApplicationEvent(ApplicationEvent event) {
 //        log.info("APPLICATION EVENT: {}", event.getClass().getName());
-        if (this.shouldTriggerRefresh(event)) {
-            log.info("Refreshing cached encryptable property sources on {}", event.getClass().getSimpleName());
-            refreshCachedProperties();
+        EventAction action = this.getEventAction(event);
+        if (action == EventAction.REFRESH) {
+            boolean refreshScopeRefreshed = isRefreshScopeRefreshedEvent(event);
+            if (refreshScopeRefreshed && keyedRefreshPending.getAndSet(false)) {
+                action = EventAction.DECORATE;
+            } else {
+                keyedRefreshPending.set(!refreshScopeRefreshed && hasKeys(event));
+            }
+        }
+        if (action == EventAction.REFRESH) {
+            Collection<String> changedKeys = getChangedKeys(event);
+            if (changedKeys.isEmpty()) {
+                log.info("Refreshing cached encryptable property sources on {}", event.getClass().getSimpleName());
+                int cleared = refreshCachedProperties(EncryptablePropertySource::refreshAndCount);
+                log.info("Cleared {} cached properties from encryptable property sources", cleared);
+            } else {
+                log.info("Refreshing {} changed properties in cached encryptable property sources on {}", changedKeys.size(), event.getClass().getSimpleName());
+                int evicted = refreshCachedProperties(eps -> eps.refresh(changedKeys));
+                log.info("Evicted {} cached properties from encryptable property sources", evicted);
+            }
+            decorateNewSources();
+        } else if (action == EventAction.DECORATE) {
+            log.info("Decorating new property sources on {}", event.getClass().getSimpleName());
             decorateNewSources();
         }
     }
 
-    private boolean shouldTriggerRefresh(ApplicationEvent event) {
-        String className = event.getClass().getName();
-        if (!eventTriggersCache.containsKey(className)) {
-            eventTriggersCache.put(className, eventClasses.stream().anyMatch(clazz -> this.isAssignable(clazz, event)));
+    private EventAction getEventAction(ApplicationEvent event) {
+        return eventTriggersCache.computeIfAbsent(event.getClass().getName(), className -> {
+            if (eventClasses.stream().anyMatch(clazz -> this.isAssignable(clazz, event))) {
+                return EventAction.REFRESH;
+            }
+            if (decorateEventClasses.stream().anyMatch(clazz -> this.isAssignable(clazz, event))) {
+                return EventAction.DECORATE;
+            }
+            return EventAction.IGNORE;
+        });
+    }
+
+    private static boolean isRefreshScopeRefreshedEvent(ApplicationEvent event) {
+        return event.getClass().getName().equals(REFRESH_SCOPE_REFRESHED_EVENT_CLASS_NAME);
+    }
+
+    private static boolean hasKeys(ApplicationEvent event) {
+        return ReflectionUtils.findMethod(event.getClass(), "getKeys") != null;
+    }
+
+    /**
+     * Keys changed by the event, if it carries them (like {@code EnvironmentChangeEvent}). Empty when the event doesn't
+     * expose them or when the encryptor configuration itself changed, in which case every cached property is refreshed.
+     */
+    @SuppressWarnings("unchecked")
+    Collection<String> getChangedKeys(ApplicationEvent event) {
+        Method getKeys = ReflectionUtils.findMethod(event.getClass(), "getKeys");
+        if (getKeys == null || !Collection.class.isAssignableFrom(getKeys.getReturnType())) {
+            return Collections.emptySet();
+        }
+        Collection<String> keys = (Collection<String>) ReflectionUtils.invokeMethod(getKeys, event);
+        if (keys == null || keys.stream().anyMatch(key -> key.toLowerCase(Locale.ROOT).startsWith(ENCRYPTOR_PREFIX))) {
+            return Collections.emptySet();
         }
-        return eventTriggersCache.get(className);
+        return keys;
     }
 
     private void decorateNewSources() {
         MutablePropertySources propSources = environment.getPropertySources();
-        converter.convertPropertySources(propSources);
+        long newSources = propSources.stream().filter(ps -> !(ps instanceof EncryptablePropertySource)).count();
+        if (newSources > 0) {
+            converter.convertPropertySources(propSources);
+            log.info("Made {} new property sources encryptable", newSources);
+        }
     }
 
     boolean isAssignable(Class<?> clazz, Object value) {
         return ClassUtils.isAssignableValue(clazz, value);
     }
 
-    private void refreshCachedProperties() {
+    private int refreshCachedProperties(ToIntFunction<EncryptablePropertySource<?>> refresh) {
         PropertySources propertySources = environment.getPropertySources();
-        propertySources.forEach(this::refreshPropertySource);
+        return propertySources.stream().mapToInt(propertySource -> refreshPropertySource(propertySource, refresh)).sum();
     }
 
-    @SuppressWarnings("rawtypes")
-    private void refreshPropertySource(PropertySource<?> propertySource) {
+    private int refreshPropertySource(PropertySource<?> propertySource, ToIntFunction<EncryptablePropertySource<?>> refresh) {
         if (propertySource instanceof CompositePropertySource) {
             CompositePropertySource cps = (CompositePropertySource) propertySource;
-            cps.getPropertySources().forEach(this::refreshPropertySource);
+            return cps.getPropertySources().stream().mapToInt(source -> refreshPropertySource(source, refresh)).sum();
         } else if (propertySource instanceof EncryptablePropertySource) {
-            EncryptablePropertySource eps = (EncryptablePropertySource) propertySource;
-            eps.refresh();
+            return refresh.applyAsInt((EncryptablePropertySource<?>) propertySource);
         }
+        return 0;
     }
 
     private Class<?> getClassSafe(String className) {
@@ -121,5 +193,14 @@ public class RefreshScopeRefreshedEventListener implements ApplicationListener<A
                 .concat(EVENT_CLASS_NAMES.stream(), this.config.getRefreshedEventClasses().stream())
                 .map(this::getClassSafe).filter(Objects::nonNull)
                 .collect(Collectors.toCollection(() -> this.eventClasses));
+        DECORATE_EVENT_CLASS_NAMES.stream()
+                .map(this::getClassSafe).filter(Objects::nonNull)
+                .collect(Collectors.toCollection(() -> this.decorateEventClasses));
+    }
+
+    private enum EventAction {
+        REFRESH,
+        DECORATE,
+        IGNORE
     }
 }
@@ -0,0 +1,93 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+/**
+ * <p>SharedDecryptionCache class.</p>
+ * Decryption cache shared by all the {@link CachingResolver} instances in the JVM. Values are keyed by the
+ * {@link EncryptablePropertyResolver} that resolved them (which holds the encryptor) and the encrypted value itself,
+ * so the same encrypted value found in different property sources is only decrypted once.
+ * Only values that were actually transformed by the resolver are kept, plain values are never stored here. Values are
+ * kept in a {@link CachedValueStore} created from the cache configuration of the first {@link CachingResolver} that
+ * uses the resolver, so the configured bounds and storage apply to the shared cache as well.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+@Slf4j
+public final class SharedDecryptionCache {
+
+    private static final SharedDecryptionCache INSTANCE = new SharedDecryptionCache();
+
+    private final Map<EncryptablePropertyResolver, CachedValueStore> caches = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private SharedDecryptionCache() {
+    }
+
+    /**
+     * <p>Get the JVM wide instance.</p>
+     *
+     * @return the shared {@link SharedDecryptionCache}
+     */
+    public static SharedDecryptionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * <p>Resolve a property value through the shared cache.</p>
+     *
+     * @param resolver    the resolver used on cache misses
+     * @param cacheConfig the cache configuration, used if the resolver has no shared cache yet
+     * @param value       the original property value
+     * @return the resolved property value
+     */
+    public String resolve(EncryptablePropertyResolver resolver, CacheConfigurationProperties cacheConfig, String value) {
+        CachedValueStore cache = caches.computeIfAbsent(resolver, r -> CachedValueStore.create(cacheConfig));
+        CachedValue cached = cache.get(value);
+        if (cached != null && cached.isFor(value)) {
+            String resolved = cached.resolvedValue();
+            //Unless it was released by an eviction in the meantime
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        String resolved = resolver.resolvePropertyValue(value);
+        //Only keep values that were actually decrypted
+        if (resolved != null && !resolved.equals(value)) {
+            cache.putIfAbsent(value, CachedValue.of(cacheConfig, value, resolved));
+        }
+        return resolved;
+    }
+
+    /**
+     * <p>Clear the values resolved by the given resolver.</p>
+     *
+     * @param resolver the resolver whose values should be evicted
+     */
+    public void clear(EncryptablePropertyResolver resolver) {
+        CachedValueStore cache = caches.get(resolver);
+        if (cache != null && cache.size() > 0) {
+            log.info("SharedDecryptionCache cleared {} entries", cache.size());
+            cache.clear();
+        }
+    }
+
+    /**
+     * <p>Evict the values resolved by the given resolver that match a predicate.</p>
+     *
+     * @param resolver the resolver whose values should be evicted
+     * @param value    predicate on the original property value
+     * @return the number of evicted values
+     */
+    public int evict(EncryptablePropertyResolver resolver, Predicate<String> value) {
+        CachedValueStore cache = caches.get(resolver);
+        return cache == null ? 0 : cache.removeIf((originValue, cachedValue) -> value.test(originValue));
+    }
+}
@@ -1,8 +1,11 @@
 package com.ulisesbocchio.jasyptspringboot.configuration;
 
 import ch.qos.logback.classic.LoggerContext;
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySourceConverter;
+import com.ulisesbocchio.jasyptspringboot.caching.EncryptablePropertiesWarmUp;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
@@ -97,6 +100,15 @@ public class EnableEncryptablePropertiesBeanFactoryPostProcessor implements Bean
         converter.convertPropertySources(propSources);
         this.enableSystemEnvironmentSourceEncryptableMapWrapper();
         this.reinitializeLoggingSystem();
+        this.warmUp(beanFactory, propSources);
+    }
+
+    private void warmUp(ConfigurableListableBeanFactory beanFactory, MutablePropertySources propSources) {
+        CacheConfigurationProperties cacheConfig = converter.getCacheConfig();
+        if (cacheConfig.isWarmUp()) {
+            EncryptablePropertyDetector detector = beanFactory.getBean(EncryptablePropertyResolverConfiguration.DETECTOR_BEAN_NAME, EncryptablePropertyDetector.class);
+            new EncryptablePropertiesWarmUp(detector, cacheConfig).warmUp(propSources);
+        }
     }
 
     /**
@@ -39,7 +39,7 @@ public class EncryptablePropertyResolverConfiguration {
     private static final String FILTER_BEAN_PLACEHOLDER = String.format("${%s:encryptablePropertyFilter}", FILTER_BEAN_PROPERTY);
 
     private static final String ENCRYPTOR_BEAN_NAME = "lazyJasyptStringEncryptor";
-    private static final String DETECTOR_BEAN_NAME = "lazyEncryptablePropertyDetector";
+    static final String DETECTOR_BEAN_NAME = "lazyEncryptablePropertyDetector";
     private static final String CONFIG_SINGLETON = "configPropsSingleton";
     /** Constant <code>RESOLVER_BEAN_NAME="lazyEncryptablePropertyResolver"</code> */
     public static final String RESOLVER_BEAN_NAME = "lazyEncryptablePropertyResolver";
@@ -52,16 +52,18 @@ public class EncryptablePropertyResolverConfiguration {
      * @param environment a {@link org.springframework.core.env.ConfigurableEnvironment} object
      * @param propertyResolver a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
      * @param propertyFilter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
+     * @param configProps a {@link com.ulisesbocchio.jasyptspringboot.util.Singleton} object
      * @return a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertySourceConverter} object
      */
     @SuppressWarnings("unchecked")
     @Bean
-    public static EncryptablePropertySourceConverter encryptablePropertySourceConverter(ConfigurableEnvironment environment, @Qualifier(RESOLVER_BEAN_NAME)  EncryptablePropertyResolver propertyResolver, @Qualifier(FILTER_BEAN_NAME) EncryptablePropertyFilter propertyFilter) {
+    public static EncryptablePropertySourceConverter encryptablePropertySourceConverter(ConfigurableEnvironment environment, @Qualifier(RESOLVER_BEAN_NAME)  EncryptablePropertyResolver propertyResolver, @Qualifier(FILTER_BEAN_NAME) EncryptablePropertyFilter propertyFilter, @Qualifier(CONFIG_SINGLETON) Singleton<JasyptEncryptorConfigurationProperties> configProps) {
         final boolean proxyPropertySources = environment.getProperty("jasypt.encryptor.proxy-property-sources", Boolean.TYPE, false);
         final List<String> skipPropertySources = (List<String>) environment.getProperty("jasypt.encryptor.skip-property-sources", List.class, Collections.EMPTY_LIST);
         final List<Class<PropertySource<?>>> skipPropertySourceClasses = skipPropertySources.stream().map(EncryptablePropertySourceConverter::getPropertiesClass).collect(Collectors.toList());
         final InterceptionMode interceptionMode = proxyPropertySources ? InterceptionMode.PROXY : InterceptionMode.WRAPPER;
-        return new EncryptablePropertySourceConverter(interceptionMode, skipPropertySourceClasses, propertyResolver, propertyFilter);
+        final JasyptEncryptorConfigurationProperties.CacheConfigurationProperties cacheConfig = configProps.get().getCache();
+        return new EncryptablePropertySourceConverter(interceptionMode, skipPropertySourceClasses, propertyResolver, propertyFilter, cacheConfig);
     }
 
     /**
@@ -144,16 +146,18 @@ public class EncryptablePropertyResolverConfiguration {
      * @param bf a {@link org.springframework.beans.factory.BeanFactory} object
      * @param envCopy a {@link com.ulisesbocchio.jasyptspringboot.configuration.EnvCopy} object
      * @param environment a {@link org.springframework.core.env.ConfigurableEnvironment} object
+     * @param configProps a {@link com.ulisesbocchio.jasyptspringboot.util.Singleton} object
      * @return a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
      */
     @Bean(name = RESOLVER_BEAN_NAME)
     public EncryptablePropertyResolver encryptablePropertyResolver(
             @Qualifier(DETECTOR_BEAN_NAME) final EncryptablePropertyDetector propertyDetector,
             @Qualifier(ENCRYPTOR_BEAN_NAME) final StringEncryptor encryptor, final BeanFactory bf,
-            final EnvCopy envCopy, final ConfigurableEnvironment environment) {
+            final EnvCopy envCopy, final ConfigurableEnvironment environment,
+            @Qualifier(CONFIG_SINGLETON) final Singleton<JasyptEncryptorConfigurationProperties> configProps) {
         final String customResolverBeanName = envCopy.get().resolveRequiredPlaceholders(RESOLVER_BEAN_PLACEHOLDER);
         final boolean isCustom = envCopy.get().containsProperty(RESOLVER_BEAN_PROPERTY);
-        return new DefaultLazyPropertyResolver(propertyDetector, encryptor, customResolverBeanName, isCustom, bf, environment);
+        return new DefaultLazyPropertyResolver(propertyDetector, encryptor, customResolverBeanName, isCustom, bf, environment, configProps);
     }
 
 }
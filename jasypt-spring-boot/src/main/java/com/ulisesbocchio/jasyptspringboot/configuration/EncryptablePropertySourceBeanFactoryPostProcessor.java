@@ -2,7 +2,11 @@ package com.ulisesbocchio.jasyptspringboot.configuration;
 
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySourceConverter;
 import com.ulisesbocchio.jasyptspringboot.annotation.EncryptablePropertySources;
+import com.ulisesbocchio.jasyptspringboot.caching.EncryptedKeysPropertySourceLoader;
+import com.ulisesbocchio.jasyptspringboot.caching.EncryptedPropertyKeys;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import com.ulisesbocchio.jasyptspringboot.wrapper.EncryptableEnumerablePropertySourceWrapper;
 import com.ulisesbocchio.jasyptspringboot.wrapper.OriginTrackedCompositePropertySource;
 import lombok.SneakyThrows;
@@ -35,6 +39,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.ulisesbocchio.jasyptspringboot.configuration.EncryptablePropertyResolverConfiguration.FILTER_BEAN_NAME;
@@ -70,18 +76,25 @@ public class EncryptablePropertySourceBeanFactoryPostProcessor implements BeanFa
         Stream<AnnotationAttributes> encryptablePropertySourcesMetadata = getEncryptablePropertySourcesMetadata(beanFactory);
         EncryptablePropertyResolver propertyResolver = beanFactory.getBean(RESOLVER_BEAN_NAME, EncryptablePropertyResolver.class);
         EncryptablePropertyFilter propertyFilter = beanFactory.getBean(FILTER_BEAN_NAME, EncryptablePropertyFilter.class);
-        List<PropertySourceLoader> loaders = initPropertyLoaders();
-        encryptablePropertySourcesMetadata.forEach(eps -> loadEncryptablePropertySource(eps, env, ac, propertyResolver, propertyFilter, propertySources, loaders));
+        CacheConfigurationProperties cacheConfig = beanFactory.getBean(EncryptablePropertySourceConverter.class).getCacheConfig();
+        List<PropertySourceLoader> loaders = initPropertyLoaders(propertyResolver, cacheConfig);
+        encryptablePropertySourcesMetadata.forEach(eps -> loadEncryptablePropertySource(eps, env, ac, propertyResolver, propertyFilter, cacheConfig, propertySources, loaders));
     }
 
-    private List<PropertySourceLoader> initPropertyLoaders() {
-        return SpringFactoriesLoader.loadFactories(PropertySourceLoader.class, getClass().getClassLoader());
+    private List<PropertySourceLoader> initPropertyLoaders(EncryptablePropertyResolver resolver, CacheConfigurationProperties cacheConfig) {
+        List<PropertySourceLoader> loaders = SpringFactoriesLoader.loadFactories(PropertySourceLoader.class, getClass().getClassLoader());
+        if (!cacheConfig.isTagEncryptedKeys()) {
+            return loaders;
+        }
+        return loaders.stream()
+                .map(loader -> new EncryptedKeysPropertySourceLoader(loader, resolver))
+                .collect(Collectors.toList());
     }
 
-    private void loadEncryptablePropertySource(AnnotationAttributes encryptablePropertySource, ConfigurableEnvironment env, ResourceLoader resourceLoader, EncryptablePropertyResolver resolver, EncryptablePropertyFilter propertyFilter, MutablePropertySources propertySources, List<PropertySourceLoader> loaders) throws BeansException {
+    private void loadEncryptablePropertySource(AnnotationAttributes encryptablePropertySource, ConfigurableEnvironment env, ResourceLoader resourceLoader, EncryptablePropertyResolver resolver, EncryptablePropertyFilter propertyFilter, CacheConfigurationProperties cacheConfig, MutablePropertySources propertySources, List<PropertySourceLoader> loaders) throws BeansException {
         try {
             log.info("Loading Encryptable Property Source '{}'", encryptablePropertySource.getString("name"));
-            PropertySource ps = createPropertySource(encryptablePropertySource, env, resourceLoader, resolver, propertyFilter, loaders);
+            PropertySource ps = createPropertySource(encryptablePropertySource, env, resourceLoader, resolver, propertyFilter, cacheConfig, loaders);
             propertySources.addLast(ps);
             log.info("Created Encryptable Property Source '{}' from locations: {}", ps.getName(), Arrays.asList(encryptablePropertySource.getStringArray("value")));
         } catch (Exception e) {
@@ -89,7 +102,7 @@ public class EncryptablePropertySourceBeanFactoryPostProcessor implements BeanFa
         }
     }
 
-    private PropertySource createPropertySource(AnnotationAttributes attributes, ConfigurableEnvironment environment, ResourceLoader resourceLoader, EncryptablePropertyResolver resolver, EncryptablePropertyFilter propertyFilter, List<PropertySourceLoader> loaders) throws Exception {
+    private PropertySource createPropertySource(AnnotationAttributes attributes, ConfigurableEnvironment environment, ResourceLoader resourceLoader, EncryptablePropertyResolver resolver, EncryptablePropertyFilter propertyFilter, CacheConfigurationProperties cacheConfig, List<PropertySourceLoader> loaders) throws Exception {
         String name = generateName(attributes.getString("name"));
         String[] locations = attributes.getStringArray("value");
         boolean ignoreResourceNotFound = attributes.getBoolean("ignoreResourceNotFound");
@@ -110,7 +123,15 @@ public class EncryptablePropertySourceBeanFactoryPostProcessor implements BeanFa
                         .ifPresent(psources -> psources.forEach(compositePropertySource::addPropertySource));
             }
         }
-        return new EncryptableEnumerablePropertySourceWrapper<>(compositePropertySource, resolver, propertyFilter);
+        if (cacheConfig.isTagEncryptedKeys() && isEmpty(EncryptedPropertyKeys.getInstance().get(compositePropertySource))) {
+            log.info("Encryptable Property Source '{}' has no encrypted properties, it won't be made encryptable", name);
+            return compositePropertySource;
+        }
+        return new EncryptableEnumerablePropertySourceWrapper<>(compositePropertySource, resolver, propertyFilter, cacheConfig);
+    }
+
+    private static boolean isEmpty(Set<String> encryptedKeys) {
+        return encryptedKeys != null && encryptedKeys.isEmpty();
     }
 
     private String generateName(String name) {
@@ -34,9 +34,12 @@ public class EnvCopy {
 
     @SuppressWarnings({"rawtypes"})
     private PropertySource<?> getOriginal(PropertySource<?> propertySource) {
-        return propertySource instanceof EncryptablePropertySource
-                ? ((EncryptablePropertySource) propertySource).getDelegate()
-                : propertySource;
+        PropertySource<?> original = propertySource;
+        //Property sources may have been made encryptable more than once
+        while (original instanceof EncryptablePropertySource) {
+            original = ((EncryptablePropertySource) original).getDelegate();
+        }
+        return original;
     }
 
     /**
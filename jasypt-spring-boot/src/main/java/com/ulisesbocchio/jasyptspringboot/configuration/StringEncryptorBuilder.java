@@ -1,16 +1,24 @@
 package com.ulisesbocchio.jasyptspringboot.configuration;
 
+import com.ulisesbocchio.jasyptspringboot.encryptor.KeyringStringEncryptor;
 import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig;
 import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricStringEncryptor;
+import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleChaCha20ByteEncryptor;
+import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleChaCha20StringEncryptor;
 import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig;
 import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMStringEncryptor;
 import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties;
 import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography;
+import com.ulisesbocchio.jasyptspringboot.util.ProviderSelector;
+import com.ulisesbocchio.jasyptspringboot.util.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.encryption.pbe.PooledPBEStringEncryptor;
+import org.jasypt.encryption.pbe.StandardPBEByteEncryptor;
 import org.jasypt.encryption.pbe.config.SimpleStringPBEConfig;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
 /**
@@ -54,9 +62,17 @@ public class StringEncryptorBuilder {
     }
 
     private boolean isGCMConfig() {
+        return isGCMKeyConfig() || isGCMKeyringConfig();
+    }
+
+    private boolean isGCMKeyConfig() {
         return configProps.getGcmSecretKeyString() != null || configProps.getGcmSecretKeyLocation() !=null || configProps.getGcmSecretKeyPassword() != null;
     }
 
+    private boolean isGCMKeyringConfig() {
+        return configProps.getGcmSecretKeys() != null && !configProps.getGcmSecretKeys().isEmpty();
+    }
+
     private boolean isPBEConfig() {
         return configProps.getPassword() != null;
     }
@@ -66,15 +82,50 @@ public class StringEncryptorBuilder {
     }
 
     private StringEncryptor createGCMDefault() {
-        SimpleGCMConfig config = new SimpleGCMConfig();
-//        config.setAlgorithm(get(configProps::getAlgorithm, propertyPrefix + ".algorithm", "AES/GCM/NoPadding"));
+        if (isGCMKeyringConfig()) {
+            return createGCMKeyring();
+        }
+        SimpleGCMConfig config = createGCMConfig();
         config.setSecretKey(get(configProps::getGcmSecretKeyString, propertyPrefix + ".gcm-secret-key-string", null));
         config.setSecretKeyLocation(get(configProps::getGcmSecretKeyLocation, propertyPrefix + ".gcm-secret-key-location", null));
         config.setSecretKeyPassword(get(configProps::getGcmSecretKeyPassword, propertyPrefix + ".gcm-key-password", null));
+        return createGCMEncryptor(config);
+    }
+
+    private StringEncryptor createGCMKeyring() {
+        String primaryKeyId = getRequired(configProps::getGcmSecretKeyId, propertyPrefix + ".gcm-secret-key-id");
+        Map<String, StringEncryptor> keyring = new HashMap<>();
+        configProps.getGcmSecretKeys().forEach((keyId, secretKey) -> {
+            SimpleGCMConfig config = createGCMConfig();
+            config.setSecretKey(secretKey);
+            keyring.put(keyId, createGCMEncryptor(config));
+        });
+        return new KeyringStringEncryptor(primaryKeyId, keyring, isGCMKeyConfig() ? createGCMDefaultKey() : null);
+    }
+
+    private StringEncryptor createGCMDefaultKey() {
+        SimpleGCMConfig config = createGCMConfig();
+        config.setSecretKey(configProps.getGcmSecretKeyString());
+        config.setSecretKeyLocation(configProps.getGcmSecretKeyLocation());
+        config.setSecretKeyPassword(configProps.getGcmSecretKeyPassword());
+        return createGCMEncryptor(config);
+    }
+
+    private SimpleGCMConfig createGCMConfig() {
+        SimpleGCMConfig config = new SimpleGCMConfig();
+        config.setAlgorithm(get(configProps::getGcmAlgorithm, propertyPrefix + ".gcm-algorithm", "AES/GCM/NoPadding"));
         config.setSecretKeySalt(get(configProps::getGcmSecretKeySalt, propertyPrefix + ".gcm-secret-key-salt", null));
         config.setSecretKeyAlgorithm(get(configProps::getGcmSecretKeyAlgorithm, propertyPrefix + ".gcm-secret-key-algorithm", "PBKDF2WithHmacSHA256"));
         config.setSecretKeyIterations(get(configProps::getKeyObtentionIterationsInt, propertyPrefix + ".key-obtention-iterations", 1000));
         config.setIvGeneratorClassName(get(configProps::getIvGeneratorClassname, propertyPrefix + ".iv-generator-classname", "org.jasypt.iv.RandomIvGenerator"));
+        config.setProviderName(get(configProps::getProviderName, propertyPrefix + ".provider-name", null));
+        return config;
+    }
+
+    private StringEncryptor createGCMEncryptor(SimpleGCMConfig config) {
+        if (SimpleChaCha20ByteEncryptor.ALGORITHM.equalsIgnoreCase(config.getAlgorithm())) {
+            return new SimpleChaCha20StringEncryptor(config);
+        }
         return new SimpleGCMStringEncryptor(config);
     }
 
@@ -86,25 +137,56 @@ public class StringEncryptorBuilder {
         config.setPublicKey(get(configProps::getPublicKeyString, propertyPrefix + ".public-key-string", null));
         config.setPublicKeyLocation(get(configProps::getPublicKeyLocation, propertyPrefix + ".public-key-location", null));
         config.setPublicKeyFormat(get(configProps::getPublicKeyFormat, propertyPrefix + ".public-key-format", AsymmetricCryptography.KeyFormat.DER));
+        config.setEnvelope(get(configProps::getAsymmetricEnvelope, propertyPrefix + ".asymmetric-envelope", false));
+        config.setKeyAlgorithm(get(configProps::getAsymmetricKeyAlgorithm, propertyPrefix + ".asymmetric-key-algorithm", AsymmetricCryptography.KeyAlgorithm.RSA));
+        config.setProviderName(get(configProps::getProviderName, propertyPrefix + ".provider-name", null));
         return new SimpleAsymmetricStringEncryptor(config);
     }
 
     private StringEncryptor createPBEDefault() {
         PooledPBEStringEncryptor encryptor = new PooledPBEStringEncryptor();
-        SimpleStringPBEConfig config = new SimpleStringPBEConfig();
+        SimpleStringPBEConfig config = new ProviderSelectingPBEConfig();
         config.setPassword(getRequired(configProps::getPassword, propertyPrefix + ".password"));
         config.setAlgorithm(get(configProps::getAlgorithm, propertyPrefix + ".algorithm", "PBEWITHHMACSHA512ANDAES_256"));
         config.setKeyObtentionIterations(get(configProps::getKeyObtentionIterations, propertyPrefix + ".key-obtention-iterations", "1000"));
         config.setPoolSize(get(configProps::getPoolSize, propertyPrefix + ".pool-size", "1"));
-        config.setProviderName(get(configProps::getProviderName, propertyPrefix + ".provider-name", null));
         config.setProviderClassName(get(configProps::getProviderClassName, propertyPrefix + ".provider-class-name", null));
         config.setSaltGeneratorClassName(get(configProps::getSaltGeneratorClassname, propertyPrefix + ".salt-generator-classname", "org.jasypt.salt.RandomSaltGenerator"));
         config.setIvGeneratorClassName(get(configProps::getIvGeneratorClassname, propertyPrefix + ".iv-generator-classname", "org.jasypt.iv.RandomIvGenerator"));
         config.setStringOutputType(get(configProps::getStringOutputType, propertyPrefix + ".string-output-type", "base64"));
+        config.setProviderName(get(configProps::getProviderName, propertyPrefix + ".provider-name", null));
         encryptor.setConfig(config);
         return encryptor;
     }
 
+    private static ProviderSelector.Workload pbeBenchmark(SimpleStringPBEConfig config) {
+        byte[] message = new byte[32];
+        return provider -> {
+            StandardPBEByteEncryptor encryptor = new StandardPBEByteEncryptor();
+            encryptor.setAlgorithm(config.getAlgorithm());
+            //The configured password is cleaned once the encryptor is initialized, and any password takes as long
+            encryptor.setPassword("benchmark");
+            encryptor.setKeyObtentionIterations(config.getKeyObtentionIterations());
+            encryptor.setSaltGenerator(config.getSaltGenerator());
+            encryptor.setIvGenerator(config.getIvGenerator());
+            encryptor.setProvider(provider);
+            encryptor.decrypt(encryptor.encrypt(message));
+        };
+    }
+
+    /**
+     * Resolves the configured provider name when the encryptor is initialized, on first use, rather than when it's
+     * built, so {@value ProviderSelector#AUTO} doesn't run its benchmark unless the encryptor is actually used.
+     */
+    private static class ProviderSelectingPBEConfig extends SimpleStringPBEConfig {
+        private final Singleton<String> selectedProviderName = Singleton.from(() -> ProviderSelector.select(super.getProviderName(), getAlgorithm(), pbeBenchmark(this)));
+
+        @Override
+        public String getProviderName() {
+            return selectedProviderName.get();
+        }
+    }
+
     private <T> T getRequired(Supplier<T> supplier, String key) {
         T value = supplier.get();
         if (value == null) {
@@ -6,6 +6,7 @@ import org.springframework.util.Assert;
 /**
  * Default property detector that detects encrypted property values with the format "$prefix$encrypted_value$suffix"
  * Default values are "ENC(" and ")" respectively.
+ * Leading and trailing whitespace around the value is ignored, and skipped without copying the value.
  *
  * @author Ulises Bocchio
  * @version $Id: $Id
@@ -40,16 +41,39 @@ public class DefaultPropertyDetector implements EncryptablePropertyDetector {
         if (property == null) {
             return false;
         }
-        final String trimmedValue = property.trim();
-        return (trimmedValue.startsWith(prefix) &&
-                trimmedValue.endsWith(suffix));
+        final int start = start(property);
+        final int end = end(property, start);
+        return end - start >= Math.max(prefix.length(), suffix.length()) &&
+                property.startsWith(prefix, start) &&
+                property.startsWith(suffix, end - suffix.length());
     }
 
     /** {@inheritDoc} */
     @Override
     public String unwrapEncryptedValue(String property) {
+        final int start = start(property);
         return property.substring(
-                prefix.length(),
-                (property.length() - suffix.length()));
+                start + prefix.length(),
+                (end(property, start) - suffix.length()));
+    }
+
+    /*
+     * Bounds of the value without leading and trailing whitespace, as String#trim() would leave it but without
+     * creating a new String
+     */
+    private static int start(String property) {
+        int start = 0;
+        while (start < property.length() && property.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int end(String property, int start) {
+        int end = property.length();
+        while (end > start && property.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
     }
 }
@@ -0,0 +1,41 @@
+package com.ulisesbocchio.jasyptspringboot.encryptor;
+
+import org.jasypt.encryption.StringEncryptor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <p>BatchStringEncryptor interface.</p>
+ * {@link StringEncryptor} that can decrypt many messages in one call, letting implementations share the setup cost
+ * among them or spread them across several encryptors.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public interface BatchStringEncryptor extends StringEncryptor {
+
+    /**
+     * <p>Decrypt all the given messages.</p>
+     *
+     * @param encryptedMessages the messages to decrypt
+     * @return the decrypted messages, in the same order
+     */
+    default List<String> decryptAll(List<String> encryptedMessages) {
+        return encryptedMessages.stream().map(this::decrypt).collect(Collectors.toList());
+    }
+
+    /**
+     * <p>Decrypt all the given messages with any {@link StringEncryptor}, in batch if it supports it.</p>
+     *
+     * @param encryptor         the encryptor
+     * @param encryptedMessages the messages to decrypt
+     * @return the decrypted messages, in the same order
+     */
+    static List<String> decryptAll(StringEncryptor encryptor, List<String> encryptedMessages) {
+        if (encryptor instanceof BatchStringEncryptor) {
+            return ((BatchStringEncryptor) encryptor).decryptAll(encryptedMessages);
+        }
+        return encryptedMessages.stream().map(encryptor::decrypt).collect(Collectors.toList());
+    }
+}
@@ -2,10 +2,11 @@ package com.ulisesbocchio.jasyptspringboot.encryptor;
 
 import lombok.SneakyThrows;
 import org.jasypt.encryption.ByteEncryptor;
-import org.jasypt.encryption.StringEncryptor;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * String Encryptor that delegates always to a {@link org.jasypt.encryption.ByteEncryptor} and converts results to/from Base64 for string
@@ -14,7 +15,7 @@ import java.util.Base64;
  * @author Ulises Bocchio
  * @version $Id: $Id
  */
-public class ByteEncryptorStringEncryptorDelegate implements StringEncryptor {
+public class ByteEncryptorStringEncryptorDelegate implements BatchStringEncryptor {
     private final ByteEncryptor delegate;
 
     /**
@@ -39,4 +40,18 @@ public class ByteEncryptorStringEncryptorDelegate implements StringEncryptor {
     public String decrypt(String encryptedMessage) {
         return new String(delegate.decrypt(Base64.getDecoder().decode(encryptedMessage)), StandardCharsets.UTF_8);
     }
+
+    /**
+     * {@inheritDoc}
+     * Messages are decrypted one after the other on the calling thread, so they all share its cipher and key setup.
+     */
+    @Override
+    public List<String> decryptAll(List<String> encryptedMessages) {
+        Base64.Decoder decoder = Base64.getDecoder();
+        List<String> decrypted = new ArrayList<>(encryptedMessages.size());
+        for (String encryptedMessage : encryptedMessages) {
+            decrypted.add(new String(delegate.decrypt(decoder.decode(encryptedMessage)), StandardCharsets.UTF_8));
+        }
+        return decrypted;
+    }
 }
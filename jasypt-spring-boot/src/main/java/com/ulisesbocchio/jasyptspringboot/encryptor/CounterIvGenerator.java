@@ -0,0 +1,54 @@
+package com.ulisesbocchio.jasyptspringboot.encryptor;
+
+import org.jasypt.iv.IvGenerator;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>CounterIvGenerator class.</p>
+ * Deterministic {@link IvGenerator} for GCM (NIST SP 800-38D, 8.2.1): each IV is a random prefix, fixed per generator,
+ * followed by a 64 bit counter incremented for every IV, so IVs never repeat within a generator and generating them
+ * takes no random bytes nor locks. Both the prefix and the counter start value are random, which keeps IVs of different
+ * generators using the same key apart. IVs must be at least 12 bytes long.
+ * <p>
+ * These IVs are unique but predictable, so use it only with GCM or ChaCha20-Poly1305 encryptors, never with CBC based
+ * password based encryption.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public class CounterIvGenerator implements IvGenerator {
+
+    private static final int COUNTER_LENGTH = Long.BYTES;
+    private static final int MIN_IV_LENGTH = 12;
+    private final byte[] prefix = new byte[32];
+    private final AtomicLong counter;
+
+    /**
+     * <p>Constructor for CounterIvGenerator.</p>
+     */
+    public CounterIvGenerator() {
+        SecureRandom random = new SecureRandom();
+        random.nextBytes(prefix);
+        counter = new AtomicLong(random.nextLong());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public byte[] generateIv(int lengthBytes) {
+        Assert.isTrue(lengthBytes >= MIN_IV_LENGTH && lengthBytes <= prefix.length + COUNTER_LENGTH, "Unsupported IV length: " + lengthBytes);
+        return ByteBuffer.allocate(lengthBytes)
+                .put(prefix, 0, lengthBytes - COUNTER_LENGTH)
+                .putLong(counter.getAndIncrement())
+                .array();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean includePlainIvInEncryptionResults() {
+        return true;
+    }
+}
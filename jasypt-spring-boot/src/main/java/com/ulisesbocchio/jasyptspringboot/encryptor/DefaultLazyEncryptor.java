@@ -9,6 +9,7 @@ import org.jasypt.encryption.pbe.PooledPBEStringEncryptor;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.core.env.ConfigurableEnvironment;
 
+import java.util.List;
 import java.util.Optional;
 
 import static com.ulisesbocchio.jasyptspringboot.util.Functional.tap;
@@ -21,7 +22,7 @@ import static com.ulisesbocchio.jasyptspringboot.util.Functional.tap;
  * @version $Id: $Id
  */
 @Slf4j
-public class DefaultLazyEncryptor implements StringEncryptor {
+public class DefaultLazyEncryptor implements BatchStringEncryptor {
 
     private final Singleton<StringEncryptor> singleton;
 
@@ -73,4 +74,10 @@ public class DefaultLazyEncryptor implements StringEncryptor {
         return singleton.get().decrypt(encryptedMessage);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<String> decryptAll(final List<String> encryptedMessages) {
+        return BatchStringEncryptor.decryptAll(singleton.get(), encryptedMessages);
+    }
+
 }
@@ -0,0 +1,117 @@
+package com.ulisesbocchio.jasyptspringboot.encryptor;
+
+import org.jasypt.encryption.StringEncryptor;
+import org.jasypt.exceptions.EncryptionOperationNotPossibleException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>KeyringStringEncryptor class.</p>
+ * {@link StringEncryptor} holding several keys, each one as the {@link StringEncryptor} that uses it, identified by a key
+ * id. Messages are encrypted with the primary key and tagged with its id as {@code {keyId}cipherText}, and decryption
+ * reads the tag to pick the key straight from the keyring, so keys can be rotated live: add the new key to every
+ * keyring, then make it the primary one, and drop the old key once everything is encrypted again.
+ * Untagged messages, encrypted before the keyring was introduced, are decrypted with the untagged encryptor if any.
+ * Batch decryption groups the messages by key, and each group is decrypted in batch by the encryptor of its key.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public class KeyringStringEncryptor implements BatchStringEncryptor {
+
+    private static final char KEY_ID_START = '{';
+    private static final char KEY_ID_END = '}';
+    private final String primaryKeyId;
+    private final StringEncryptor primary;
+    private final Map<String, StringEncryptor> keyring;
+    private final StringEncryptor untagged;
+
+    /**
+     * <p>Constructor for KeyringStringEncryptor.</p>
+     *
+     * @param primaryKeyId the id of the key used to encrypt
+     * @param keyring      the encryptors by key id
+     */
+    public KeyringStringEncryptor(String primaryKeyId, Map<String, StringEncryptor> keyring) {
+        this(primaryKeyId, keyring, null);
+    }
+
+    /**
+     * <p>Constructor for KeyringStringEncryptor.</p>
+     *
+     * @param primaryKeyId the id of the key used to encrypt
+     * @param keyring      the encryptors by key id
+     * @param untagged     the encryptor for messages without key id, may be null
+     */
+    public KeyringStringEncryptor(String primaryKeyId, Map<String, StringEncryptor> keyring, StringEncryptor untagged) {
+        keyring.keySet().forEach(keyId -> Assert.isTrue(!keyId.isEmpty() && keyId.indexOf(KEY_ID_END) < 0, "Invalid key id: " + keyId));
+        this.keyring = new HashMap<>(keyring);
+        this.primaryKeyId = primaryKeyId;
+        this.primary = this.keyring.get(primaryKeyId);
+        Assert.notNull(this.primary, "Primary key id " + primaryKeyId + " not found in keyring " + keyring.keySet());
+        this.untagged = untagged;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String encrypt(String message) {
+        return KEY_ID_START + primaryKeyId + KEY_ID_END + primary.encrypt(message);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String decrypt(String encryptedMessage) {
+        int end = keyIdEnd(encryptedMessage);
+        return encryptorFor(encryptedMessage, end).decrypt(encryptedMessage.substring(end + 1));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> decryptAll(List<String> encryptedMessages) {
+        Map<StringEncryptor, List<Integer>> indexesByEncryptor = new IdentityHashMap<>();
+        Map<StringEncryptor, List<String>> messagesByEncryptor = new IdentityHashMap<>();
+        for (int i = 0; i < encryptedMessages.size(); i++) {
+            String encryptedMessage = encryptedMessages.get(i);
+            int end = keyIdEnd(encryptedMessage);
+            StringEncryptor encryptor = encryptorFor(encryptedMessage, end);
+            indexesByEncryptor.computeIfAbsent(encryptor, e -> new ArrayList<>()).add(i);
+            messagesByEncryptor.computeIfAbsent(encryptor, e -> new ArrayList<>()).add(encryptedMessage.substring(end + 1));
+        }
+        List<String> decrypted = new ArrayList<>(encryptedMessages);
+        messagesByEncryptor.forEach((encryptor, messages) -> {
+            List<Integer> indexes = indexesByEncryptor.get(encryptor);
+            List<String> decryptedMessages = BatchStringEncryptor.decryptAll(encryptor, messages);
+            for (int i = 0; i < indexes.size(); i++) {
+                decrypted.set(indexes.get(i), decryptedMessages.get(i));
+            }
+        });
+        return decrypted;
+    }
+
+    /**
+     * @return the index of the end of the key id tag, or -1 if the message is untagged
+     */
+    private static int keyIdEnd(String encryptedMessage) {
+        return encryptedMessage.length() > 1 && encryptedMessage.charAt(0) == KEY_ID_START ? encryptedMessage.indexOf(KEY_ID_END, 1) : -1;
+    }
+
+    private StringEncryptor encryptorFor(String encryptedMessage, int keyIdEnd) {
+        if (keyIdEnd < 0) {
+            if (untagged == null) {
+                throw new EncryptionOperationNotPossibleException("Encrypted message has no key id");
+            }
+            return untagged;
+        }
+        String keyId = encryptedMessage.substring(1, keyIdEnd);
+        StringEncryptor encryptor = keyring.get(keyId);
+        if (encryptor == null) {
+            throw new EncryptionOperationNotPossibleException("Key id " + keyId + " not found in keyring");
+        }
+        return encryptor;
+    }
+}
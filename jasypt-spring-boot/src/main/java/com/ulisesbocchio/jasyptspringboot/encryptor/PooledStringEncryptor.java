@@ -1,24 +1,49 @@
 package com.ulisesbocchio.jasyptspringboot.encryptor;
 
 import org.jasypt.encryption.StringEncryptor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 /**
  * <p>PooledStringEncryptor class.</p>
+ * Each operation borrows a free member of the pool: starting from a round robin position, members are tried without
+ * blocking and the first one not in use is taken. Only when every member is busy does the caller wait, on the member
+ * it started with. Members are guarded by {@link ReentrantLock}s rather than monitors, so waiting virtual threads
+ * don't pin their carrier.
  *
  * @author Sergio.U.Bocchio
  * @version $Id: $Id
  */
-public class PooledStringEncryptor implements StringEncryptor {
+public class PooledStringEncryptor implements BatchStringEncryptor {
+
+    private static final ExecutorService BATCH_EXECUTOR = batchExecutor();
 
     private final int size;
-    private final StringEncryptor[] pool;
+    private final ThreadSafeStringEncryptor[] pool;
     private final AtomicInteger roundRobin;
 
+    /**
+     * <p>Constructor for PooledStringEncryptor, with one encryptor per available processor.</p>
+     *
+     * @param encryptorFactory a {@link java.util.function.Supplier} object
+     */
+    public PooledStringEncryptor(Supplier<StringEncryptor> encryptorFactory) {
+        this(Runtime.getRuntime().availableProcessors(), encryptorFactory);
+    }
+
     /**
      * <p>Constructor for PooledStringEncryptor.</p>
      *
@@ -30,46 +55,109 @@ public class PooledStringEncryptor implements StringEncryptor {
         this.pool = IntStream.range(0, this.size).boxed().map(v -> {
             StringEncryptor encryptor = encryptorFactory.get();
             if (encryptor instanceof ThreadSafeStringEncryptor) {
-                return encryptor;
+                return (ThreadSafeStringEncryptor) encryptor;
             }
             return new ThreadSafeStringEncryptor(encryptor);
-        }).toArray(StringEncryptor[]::new);
+        }).toArray(ThreadSafeStringEncryptor[]::new);
         this.roundRobin = new AtomicInteger();
     }
 
-    private <T> T robin(Function<StringEncryptor, T> producer) {
-        int position = this.roundRobin.getAndUpdate(value ->  (value + 1) % this.size);
-        return producer.apply(this.pool[position]);
-
+    private <T> T borrow(Function<StringEncryptor, T> producer) {
+        int start = Math.floorMod(this.roundRobin.getAndIncrement(), this.size);
+        for (int i = 0; i < this.size; i++) {
+            ThreadSafeStringEncryptor member = this.pool[(start + i) % this.size];
+            if (member.lock.tryLock()) {
+                try {
+                    return producer.apply(member.delegate);
+                } finally {
+                    member.lock.unlock();
+                }
+            }
+        }
+        // every member is busy, wait for ours
+        return producer.apply(this.pool[start]);
     }
 
     /** {@inheritDoc} */
     @Override
     public String encrypt(String message) {
-        return robin(e -> e.encrypt(message));
+        return borrow(e -> e.encrypt(message));
     }
 
     /** {@inheritDoc} */
     @Override
     public String decrypt(String encryptedMessage) {
-        return robin(e -> e.decrypt(encryptedMessage));
+        return borrow(e -> e.decrypt(encryptedMessage));
+    }
+
+    /**
+     * {@inheritDoc}
+     * Messages are split in one slice per member of the pool, and each slice is decrypted in batch by the member it
+     * borrows, in parallel. The first slice is decrypted on the calling thread, the others on a small pool of daemon
+     * threads shared by all the {@link PooledStringEncryptor} instances.
+     */
+    @Override
+    public List<String> decryptAll(List<String> encryptedMessages) {
+        int slices = Math.min(this.size, encryptedMessages.size());
+        if (slices <= 1) {
+            return borrow(e -> BatchStringEncryptor.decryptAll(e, encryptedMessages));
+        }
+        int sliceSize = (encryptedMessages.size() + slices - 1) / slices;
+        List<CompletableFuture<List<String>>> others = new ArrayList<>();
+        for (int from = sliceSize; from < encryptedMessages.size(); from += sliceSize) {
+            List<String> slice = encryptedMessages.subList(from, Math.min(from + sliceSize, encryptedMessages.size()));
+            others.add(CompletableFuture.supplyAsync(() -> borrow(e -> BatchStringEncryptor.decryptAll(e, slice)), BATCH_EXECUTOR));
+        }
+        List<String> decrypted = new ArrayList<>(encryptedMessages.size());
+        decrypted.addAll(borrow(e -> BatchStringEncryptor.decryptAll(e, encryptedMessages.subList(0, sliceSize))));
+        for (CompletableFuture<List<String>> slice : others) {
+            try {
+                decrypted.addAll(slice.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        return decrypted;
+    }
+
+    private static ExecutorService batchExecutor() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jasypt-pooled-batch-");
+        threadFactory.setDaemon(true);
+        int threads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     public static class ThreadSafeStringEncryptor implements StringEncryptor {
         private final StringEncryptor delegate;
+        private final ReentrantLock lock = new ReentrantLock();
 
         public ThreadSafeStringEncryptor(StringEncryptor delegate) {
             this.delegate = delegate;
         }
 
         @Override
-        public synchronized String encrypt(String message) {
-            return delegate.encrypt(message);
+        public String encrypt(String message) {
+            lock.lock();
+            try {
+                return delegate.encrypt(message);
+            } finally {
+                lock.unlock();
+            }
         }
 
         @Override
-        public synchronized String decrypt(String encryptedMessage) {
-            return delegate.decrypt(encryptedMessage);
+        public String decrypt(String encryptedMessage) {
+            lock.lock();
+            try {
+                return delegate.decrypt(encryptedMessage);
+            } finally {
+                lock.unlock();
+            }
         }
     }
 }
@@ -2,23 +2,63 @@ package com.ulisesbocchio.jasyptspringboot.encryptor;
 
 import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography;
 import com.ulisesbocchio.jasyptspringboot.util.Singleton;
+import lombok.SneakyThrows;
 import org.jasypt.encryption.ByteEncryptor;
+import org.jasypt.exceptions.EncryptionOperationNotPossibleException;
 
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMByteEncryptor.AES_KEY_SIZE;
+import static com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMByteEncryptor.GCM_IV_LENGTH;
+import static com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMByteEncryptor.GCM_TAG_LENGTH;
 
 /**
  * Vanilla implementation of an asymmetric encryptor that relies on {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography}
  * Keys are lazily loaded from {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig}
+ * <p>
+ * In envelope mode messages are encrypted with AES/GCM using a data key, and the data key is encrypted with RSA. The
+ * envelope is a format version byte, the wrapped data key, the IV and the GCM cipher text. A plain RSA cipher text is
+ * always exactly as long as the key modulus, so only longer cipher texts are read as envelopes, and they must start with
+ * a known version. Plain RSA cipher texts keep decrypting regardless of the mode.
+ * <p>
+ * The data key is reused on purpose: an encryptor seals up to {@value #MAX_MESSAGES_PER_DATA_KEY} messages with the same
+ * data key, each one with its own random IV, before generating a new one. Unwrapped data keys are cached by their wrapped
+ * bytes, so all the properties sealed with the same data key cost a single RSA operation to decrypt. The flip side is
+ * that whoever unwraps the data key of one envelope can read all the messages sealed with it, which takes the RSA
+ * private key anyway.
  *
  * @author Ulises Bocchio
  * @version $Id: $Id
  */
 public class SimpleAsymmetricByteEncryptor implements ByteEncryptor {
 
+    private static final int MAX_CACHED_DATA_KEYS = 64;
+    private static final int MAX_MESSAGES_PER_DATA_KEY = 1 << 20;
+    private static final byte ENVELOPE_VERSION = 1;
+    private static final String ENVELOPE_ALGORITHM = "AES/GCM/NoPadding";
     private final AsymmetricCryptography crypto;
     private final Singleton<PublicKey> publicKey;
     private final Singleton<PrivateKey> privateKey;
+    private final boolean envelope;
+    private DataKey dataKey;
+    private final Map<ByteBuffer, SecretKey> dataKeys = Collections.synchronizedMap(new LinkedHashMap<ByteBuffer, SecretKey>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, SecretKey> eldest) {
+            return size() > MAX_CACHED_DATA_KEYS;
+        }
+    });
+    private final SecureRandom random = new SecureRandom();
 
     /**
      * <p>Constructor for SimpleAsymmetricByteEncryptor.</p>
@@ -26,20 +66,90 @@ public class SimpleAsymmetricByteEncryptor implements ByteEncryptor {
      * @param config a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig} object
      */
     public SimpleAsymmetricByteEncryptor(SimpleAsymmetricConfig config) {
-        crypto = new AsymmetricCryptography(config.getResourceLoader());
+        crypto = new AsymmetricCryptography(config.getResourceLoader(), config.getProviderName(), AsymmetricCryptography.KeyAlgorithm.RSA, config.isEnvelope());
         privateKey = Singleton.fromLazy(crypto::getPrivateKey, config::loadPrivateKeyResource, config::getPrivateKeyFormat);
         publicKey = Singleton.fromLazy(crypto::getPublicKey, config::loadPublicKeyResource, config::getPublicKeyFormat);
+        envelope = config.isEnvelope();
     }
 
     /** {@inheritDoc} */
     @Override
     public byte[] encrypt(byte[] message) {
+        if (envelope) {
+            return encryptEnvelope(message);
+        }
         return this.crypto.encrypt(message, publicKey.get());
     }
 
     /** {@inheritDoc} */
     @Override
     public byte[] decrypt(byte[] encryptedMessage) {
-        return this.crypto.decrypt(encryptedMessage, privateKey.get());
+        PrivateKey key = privateKey.get();
+        int wrappedKeyLength = modulusLength(key);
+        if (wrappedKeyLength > 0 && encryptedMessage.length > wrappedKeyLength) {
+            if (encryptedMessage[0] != ENVELOPE_VERSION) {
+                throw new EncryptionOperationNotPossibleException("Unknown envelope version " + encryptedMessage[0]);
+            }
+            return decryptEnvelope(encryptedMessage, wrappedKeyLength, key);
+        }
+        return this.crypto.decrypt(encryptedMessage, key);
+    }
+
+    @SneakyThrows
+    private byte[] encryptEnvelope(byte[] message) {
+        DataKey key = nextDataKey();
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = crypto.getCipher(ENVELOPE_ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, key.key, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+        byte[] cipherText = cipher.doFinal(message);
+        return ByteBuffer.allocate(1 + key.wrapped.length + GCM_IV_LENGTH + cipherText.length)
+                .put(ENVELOPE_VERSION)
+                .put(key.wrapped)
+                .put(iv)
+                .put(cipherText)
+                .array();
+    }
+
+    @SneakyThrows
+    private byte[] decryptEnvelope(byte[] encryptedMessage, int wrappedKeyLength, PrivateKey privateKey) {
+        int offset = 1 + wrappedKeyLength;
+        if (encryptedMessage.length < offset + GCM_IV_LENGTH) {
+            throw new EncryptionOperationNotPossibleException();
+        }
+        ByteBuffer wrapped = ByteBuffer.wrap(Arrays.copyOfRange(encryptedMessage, 1, offset));
+        SecretKey key = dataKeys.get(wrapped);
+        if (key == null) {
+            key = crypto.unwrapKey(wrapped.array(), privateKey);
+            dataKeys.put(wrapped, key);
+        }
+        Cipher cipher = crypto.getCipher(ENVELOPE_ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, encryptedMessage, offset, GCM_IV_LENGTH));
+        offset += GCM_IV_LENGTH;
+        return cipher.doFinal(encryptedMessage, offset, encryptedMessage.length - offset);
+    }
+
+    private synchronized DataKey nextDataKey() {
+        if (dataKey == null || dataKey.messages >= MAX_MESSAGES_PER_DATA_KEY) {
+            SecretKey key = crypto.generateKey("AES", AES_KEY_SIZE, random);
+            dataKey = new DataKey(key, crypto.wrapKey(key, publicKey.get()));
+        }
+        dataKey.messages++;
+        return dataKey;
+    }
+
+    private static int modulusLength(PrivateKey key) {
+        return key instanceof RSAKey ? (((RSAKey) key).getModulus().bitLength() + 7) / 8 : 0;
+    }
+
+    private static class DataKey {
+        private final SecretKey key;
+        private final byte[] wrapped;
+        private int messages;
+
+        DataKey(SecretKey key, byte[] wrapped) {
+            this.key = key;
+            this.wrapped = wrapped;
+        }
     }
 }
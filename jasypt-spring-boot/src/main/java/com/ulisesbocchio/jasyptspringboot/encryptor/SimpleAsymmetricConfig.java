@@ -1,5 +1,6 @@
 package com.ulisesbocchio.jasyptspringboot.encryptor;
 
+import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyAlgorithm;
 import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyFormat;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -39,6 +40,9 @@ public class SimpleAsymmetricConfig {
     private ResourceLoader resourceLoader = new DefaultResourceLoader();
     private KeyFormat privateKeyFormat = KeyFormat.DER;
     private KeyFormat publicKeyFormat = KeyFormat.DER;
+    private boolean envelope = false;
+    private KeyAlgorithm keyAlgorithm = KeyAlgorithm.RSA;
+    private String providerName = null;
 
     private Resource loadResource(Resource asResource, String asString, String asLocation, KeyFormat format, String type) {
         return Optional.ofNullable(asResource)
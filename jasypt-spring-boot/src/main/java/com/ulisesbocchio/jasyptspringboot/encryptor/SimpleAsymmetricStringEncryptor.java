@@ -1,5 +1,7 @@
 package com.ulisesbocchio.jasyptspringboot.encryptor;
 
+import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyAlgorithm;
+
 /**
  * {@link org.jasypt.encryption.StringEncryptor} version of {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricByteEncryptor} that just relies on
  * delegation from {@link com.ulisesbocchio.jasyptspringboot.encryptor.ByteEncryptorStringEncryptorDelegate} and provides a constructor for {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig}
@@ -24,6 +26,15 @@ public class SimpleAsymmetricStringEncryptor extends ByteEncryptorStringEncrypto
      * @param config a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig} object
      */
     public SimpleAsymmetricStringEncryptor(SimpleAsymmetricConfig config) {
-        super(new SimpleAsymmetricByteEncryptor(config));
+        super(config.getKeyAlgorithm() == KeyAlgorithm.RSA ? new SimpleAsymmetricByteEncryptor(config) : new SimpleECIESByteEncryptor(config));
+    }
+
+    /**
+     * <p>Constructor for SimpleAsymmetricStringEncryptor.</p>
+     *
+     * @param delegate a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleECIESByteEncryptor} object
+     */
+    public SimpleAsymmetricStringEncryptor(SimpleECIESByteEncryptor delegate) {
+        super(delegate);
     }
 }
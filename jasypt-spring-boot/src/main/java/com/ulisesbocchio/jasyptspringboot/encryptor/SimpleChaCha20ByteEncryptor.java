@@ -0,0 +1,102 @@
+package com.ulisesbocchio.jasyptspringboot.encryptor;
+
+import com.ulisesbocchio.jasyptspringboot.util.ProviderSelector;
+import com.ulisesbocchio.jasyptspringboot.util.Singleton;
+import lombok.SneakyThrows;
+import org.jasypt.encryption.ByteEncryptor;
+import org.jasypt.iv.IvGenerator;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.Provider;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <p>SimpleChaCha20ByteEncryptor class.</p>
+ * ChaCha20-Poly1305 counterpart of {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMByteEncryptor}, faster
+ * than AES/GCM on hosts without AES hardware acceleration. It takes the same
+ * {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig} and the same 256 bit keys, and produces the same
+ * layout: the 12 byte nonce followed by the cipher text and the Poly1305 tag.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public class SimpleChaCha20ByteEncryptor implements ByteEncryptor {
+
+    /** Constant <code>ALGORITHM="ChaCha20-Poly1305"</code> */
+    public static final String ALGORITHM = "ChaCha20-Poly1305";
+    /** Constant <code>NONCE_LENGTH=12</code> */
+    public static final int NONCE_LENGTH = 12;
+    private final Singleton<SecretKey> key;
+    private final Singleton<IvGenerator> ivGenerator;
+    private final Singleton<String> provider;
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(this::newCipher);
+
+    /**
+     * <p>Constructor for SimpleChaCha20ByteEncryptor.</p>
+     *
+     * @param config a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig} object
+     */
+    public SimpleChaCha20ByteEncryptor(SimpleGCMConfig config) {
+        this.key = Singleton.from(() -> new SecretKeySpec(SimpleGCMByteEncryptor.loadSecretKey(config).getEncoded(), "ChaCha20"));
+        this.ivGenerator = Singleton.from(config::getActualIvGenerator);
+        this.provider = Singleton.from(() -> ProviderSelector.select(config.getProviderName(), ALGORITHM, this::benchmark));
+    }
+
+    /** {@inheritDoc} */
+    @SneakyThrows
+    @Override
+    public byte[] encrypt(byte[] message) {
+        byte[] nonce = this.ivGenerator.get().generateIv(NONCE_LENGTH);
+
+        Cipher cipher = initCipher(Cipher.ENCRYPT_MODE, new IvParameterSpec(nonce));
+        byte[] cipherText = cipher.doFinal(message);
+
+        ByteBuffer byteBuffer = ByteBuffer.allocate(NONCE_LENGTH + cipherText.length);
+        byteBuffer.put(nonce);
+        byteBuffer.put(cipherText);
+        return byteBuffer.array();
+    }
+
+    /** {@inheritDoc} */
+    @SneakyThrows
+    @Override
+    public byte[] decrypt(byte[] encryptedMessage) {
+        Cipher cipher = initCipher(Cipher.DECRYPT_MODE, new IvParameterSpec(encryptedMessage, 0, NONCE_LENGTH));
+        return cipher.doFinal(encryptedMessage, NONCE_LENGTH, encryptedMessage.length - NONCE_LENGTH);
+    }
+
+    @SneakyThrows
+    private Cipher initCipher(int mode, IvParameterSpec parameterSpec) {
+        Cipher cipher = this.cipher.get();
+        try {
+            cipher.init(mode, key.get(), parameterSpec);
+        } catch (InvalidKeyException e) {
+            // A cipher refuses to be initialized twice in a row with the same key and nonce, as when decrypting the same
+            // message again or using a fixed IV generator
+            cipher = newCipher();
+            cipher.init(mode, key.get(), parameterSpec);
+        }
+        return cipher;
+    }
+
+    private Cipher newCipher() {
+        return ProviderSelector.getCipher(ALGORITHM, provider.get());
+    }
+
+    private void benchmark(Provider provider) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(ALGORITHM, provider);
+        byte[] nonce = new byte[NONCE_LENGTH];
+        ThreadLocalRandom.current().nextBytes(nonce);
+        cipher.init(Cipher.ENCRYPT_MODE, key.get(), new IvParameterSpec(nonce));
+        byte[] cipherText = cipher.doFinal(new byte[256]);
+        cipher = Cipher.getInstance(ALGORITHM, provider);
+        cipher.init(Cipher.DECRYPT_MODE, key.get(), new IvParameterSpec(nonce));
+        cipher.doFinal(cipherText);
+    }
+}
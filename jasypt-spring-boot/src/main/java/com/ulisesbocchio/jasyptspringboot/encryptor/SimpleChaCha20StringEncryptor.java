@@ -0,0 +1,29 @@
+package com.ulisesbocchio.jasyptspringboot.encryptor;
+
+/**
+ * {@link org.jasypt.encryption.StringEncryptor} version of {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleChaCha20ByteEncryptor} that just relies on
+ * delegation from {@link com.ulisesbocchio.jasyptspringboot.encryptor.ByteEncryptorStringEncryptorDelegate} and provides a constructor for {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig}
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+public class SimpleChaCha20StringEncryptor extends ByteEncryptorStringEncryptorDelegate {
+
+    /**
+     * <p>Constructor for SimpleChaCha20StringEncryptor.</p>
+     *
+     * @param delegate a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleChaCha20ByteEncryptor} object
+     */
+    public SimpleChaCha20StringEncryptor(SimpleChaCha20ByteEncryptor delegate) {
+        super(delegate);
+    }
+
+    /**
+     * <p>Constructor for SimpleChaCha20StringEncryptor.</p>
+     *
+     * @param config a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig} object
+     */
+    public SimpleChaCha20StringEncryptor(SimpleGCMConfig config) {
+        super(new SimpleChaCha20ByteEncryptor(config));
+    }
+}
@@ -0,0 +1,129 @@
+package com.ulisesbocchio.jasyptspringboot.encryptor;
+
+import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography;
+import com.ulisesbocchio.jasyptspringboot.util.Singleton;
+import lombok.SneakyThrows;
+import org.jasypt.encryption.ByteEncryptor;
+import org.jasypt.exceptions.EncryptionOperationNotPossibleException;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMByteEncryptor.AES_KEY_SIZE;
+import static com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMByteEncryptor.GCM_IV_LENGTH;
+import static com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMByteEncryptor.GCM_TAG_LENGTH;
+
+/**
+ * Elliptic curve implementation of an asymmetric encryptor (ECIES) that relies on {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography}
+ * Keys are lazily loaded from {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig}, using its
+ * {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyAlgorithm} (X25519 or EC).
+ * <p>
+ * Messages are encrypted with AES/GCM using a key derived with HKDF-SHA256 from the X25519/ECDH agreement between an
+ * ephemeral key pair and the public key. The cipher text is the length of the encoded ephemeral public key (2 bytes),
+ * the encoded ephemeral public key, the IV and the GCM cipher text. A new ephemeral key pair is generated for every
+ * message. Derived keys are cached by ephemeral public key on decryption, so decrypting the same property again, as on
+ * every refresh, doesn't cost another key agreement.
+ *
+ * @author Ulises Bocchio
+ * @version $Id: $Id
+ */
+public class SimpleECIESByteEncryptor implements ByteEncryptor {
+
+    private static final int MAX_CACHED_KEYS = 64;
+    private static final String ALGORITHM = "AES/GCM/NoPadding";
+    private static final byte[] KDF_INFO = "jasypt-spring-boot ECIES AES-256-GCM".getBytes(StandardCharsets.US_ASCII);
+    private final AsymmetricCryptography crypto;
+    private final Singleton<PublicKey> publicKey;
+    private final Singleton<PrivateKey> privateKey;
+    private final Map<ByteBuffer, SecretKey> derivedKeys = Collections.synchronizedMap(new LinkedHashMap<ByteBuffer, SecretKey>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, SecretKey> eldest) {
+            return size() > MAX_CACHED_KEYS;
+        }
+    });
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * <p>Constructor for SimpleECIESByteEncryptor.</p>
+     *
+     * @param config a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig} object
+     */
+    public SimpleECIESByteEncryptor(SimpleAsymmetricConfig config) {
+        crypto = new AsymmetricCryptography(config.getResourceLoader(), config.getProviderName(), config.getKeyAlgorithm(), false);
+        privateKey = Singleton.from(() -> crypto.getPrivateKey(config.loadPrivateKeyResource(), config.getPrivateKeyFormat(), config.getKeyAlgorithm()));
+        publicKey = Singleton.from(() -> crypto.getPublicKey(config.loadPublicKeyResource(), config.getPublicKeyFormat(), config.getKeyAlgorithm()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SneakyThrows
+    public byte[] encrypt(byte[] message) {
+        EphemeralKey key = newEphemeralKey();
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = crypto.getCipher(ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, key.key, new GCMParameterSpec(GCM_TAG_LENGTH, iv));
+        byte[] cipherText = cipher.doFinal(message);
+        return ByteBuffer.allocate(2 + key.encoded.length + GCM_IV_LENGTH + cipherText.length)
+                .putShort((short) key.encoded.length)
+                .put(key.encoded)
+                .put(iv)
+                .put(cipherText)
+                .array();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SneakyThrows
+    public byte[] decrypt(byte[] encryptedMessage) {
+        int encodedLength = encryptedMessage.length < 2 ? -1 : ByteBuffer.wrap(encryptedMessage).getShort() & 0xFFFF;
+        int offset = 2 + encodedLength;
+        if (encodedLength <= 0 || encryptedMessage.length < offset + GCM_IV_LENGTH) {
+            throw new EncryptionOperationNotPossibleException();
+        }
+        ByteBuffer encoded = ByteBuffer.wrap(Arrays.copyOfRange(encryptedMessage, 2, offset));
+        SecretKey key = derivedKeys.get(encoded);
+        if (key == null) {
+            PrivateKey recipient = privateKey.get();
+            PublicKey ephemeral = crypto.decodePublicKey(encoded.array(), recipient.getAlgorithm());
+            key = deriveKey(recipient, ephemeral, encoded.array());
+            derivedKeys.put(encoded, key);
+        }
+        Cipher cipher = crypto.getCipher(ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH, encryptedMessage, offset, GCM_IV_LENGTH));
+        offset += GCM_IV_LENGTH;
+        return cipher.doFinal(encryptedMessage, offset, encryptedMessage.length - offset);
+    }
+
+    private EphemeralKey newEphemeralKey() {
+        PublicKey recipient = publicKey.get();
+        KeyPair keyPair = crypto.generateKeyPair(recipient);
+        byte[] encoded = keyPair.getPublic().getEncoded();
+        return new EphemeralKey(deriveKey(keyPair.getPrivate(), recipient, encoded), encoded);
+    }
+
+    private SecretKey deriveKey(PrivateKey privateKey, PublicKey publicKey, byte[] ephemeralEncoded) {
+        return crypto.deriveKey(crypto.agree(privateKey, publicKey), ephemeralEncoded, KDF_INFO, AES_KEY_SIZE);
+    }
+
+    private static class EphemeralKey {
+        private final SecretKey key;
+        private final byte[] encoded;
+
+        EphemeralKey(SecretKey key, byte[] encoded) {
+            this.key = key;
+            this.encoded = encoded;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ulisesbocchio.jasyptspringboot.encryptor;
 
+import com.ulisesbocchio.jasyptspringboot.util.ProviderSelector;
 import com.ulisesbocchio.jasyptspringboot.util.Singleton;
 import lombok.SneakyThrows;
 import org.jasypt.encryption.ByteEncryptor;
@@ -17,12 +18,17 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.Provider;
 import java.security.SecureRandom;
 import java.security.spec.KeySpec;
 import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * <p>SimpleGCMByteEncryptor class.</p>
+ * Each thread reuses its own {@link Cipher} instance, initialized again for every message with its own IV.
  *
  * @author Sergio.U.Bocchio
  * @version $Id: $Id
@@ -40,6 +46,8 @@ public class SimpleGCMByteEncryptor implements ByteEncryptor {
     private final Singleton<SecretKey> key;
     private final String algorithm;
     private final Singleton<IvGenerator> ivGenerator;
+    private final Singleton<String> provider;
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(this::newCipher);
 
     /** {@inheritDoc} */
     @SneakyThrows
@@ -47,9 +55,15 @@ public class SimpleGCMByteEncryptor implements ByteEncryptor {
     public byte[] encrypt(byte[] message) {
         byte[] iv = this.ivGenerator.get().generateIv(GCM_IV_LENGTH);
 
-        Cipher cipher = Cipher.getInstance(this.algorithm);
+        Cipher cipher = this.cipher.get();
         GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
-        cipher.init(Cipher.ENCRYPT_MODE, key.get(), gcmParameterSpec);
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, key.get(), gcmParameterSpec);
+        } catch (InvalidAlgorithmParameterException e) {
+            // A cipher refuses to encrypt twice with the same key and IV, as when using a fixed IV generator
+            cipher = newCipher();
+            cipher.init(Cipher.ENCRYPT_MODE, key.get(), gcmParameterSpec);
+        }
 
         byte[] cipherText = cipher.doFinal(message);
 
@@ -63,14 +77,37 @@ public class SimpleGCMByteEncryptor implements ByteEncryptor {
     @SneakyThrows
     @Override
     public byte[] decrypt(byte[] encryptedMessage) {
-        Cipher cipher = Cipher.getInstance(this.algorithm);
+        Cipher cipher = this.cipher.get();
         GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, encryptedMessage, 0, GCM_IV_LENGTH);
         cipher.init(Cipher.DECRYPT_MODE, key.get(), gcmParameterSpec);
         return cipher.doFinal(encryptedMessage, GCM_IV_LENGTH, encryptedMessage.length - GCM_IV_LENGTH);
     }
 
+    private Cipher newCipher() {
+        return ProviderSelector.getCipher(this.algorithm, provider.get());
+    }
+
+    private void benchmark(Provider provider) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(this.algorithm, provider);
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        ThreadLocalRandom.current().nextBytes(iv);
+        GCMParameterSpec gcmParameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH, iv);
+        cipher.init(Cipher.ENCRYPT_MODE, key.get(), gcmParameterSpec);
+        byte[] cipherText = cipher.doFinal(new byte[256]);
+        cipher.init(Cipher.DECRYPT_MODE, key.get(), gcmParameterSpec);
+        cipher.doFinal(cipherText);
+    }
+
+    /**
+     * <p>loadSecretKey.</p>
+     * Loads the secret key of a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig}, from the actual
+     * key, the password or the base64 encoded key resource, in that order.
+     *
+     * @param config a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig} object
+     * @return a {@link javax.crypto.SecretKey} object
+     */
     @SneakyThrows
-    private SecretKey loadSecretKey(SimpleGCMConfig config) {
+    static SecretKey loadSecretKey(SimpleGCMConfig config) {
         if (config.getActualKey() != null) {
             return config.getActualKey();
         } else if (config.getSecretKeyPassword() != null) {
@@ -84,12 +121,12 @@ public class SimpleGCMByteEncryptor implements ByteEncryptor {
     }
 
     @SneakyThrows
-    private byte[] getResourceBytes(Resource resource) {
+    private static byte[] getResourceBytes(Resource resource) {
         return FileCopyUtils.copyToByteArray(resource.getInputStream());
     }
 
     @SneakyThrows
-    private SecretKey loadSecretKeyFromResource(Resource resource) {
+    private static SecretKey loadSecretKeyFromResource(Resource resource) {
         byte[] secretKeyBytes = Base64.getDecoder().decode(getResourceBytes(resource));
         return new SecretKeySpec(secretKeyBytes, "AES");
     }
@@ -101,8 +138,20 @@ public class SimpleGCMByteEncryptor implements ByteEncryptor {
      */
     @SneakyThrows
     public static SecretKey generateSecretKey() {
+        return generateSecretKey(SecureRandom.getInstanceStrong());
+    }
+
+    /**
+     * <p>generateSecretKey.</p>
+     * Generates the key with the given random source, like {@code SecureRandom.getInstance("DRBG")}, that unlike
+     * {@link SecureRandom#getInstanceStrong()} never blocks waiting for entropy.
+     *
+     * @param random a {@link java.security.SecureRandom} object
+     * @return a {@link javax.crypto.SecretKey} object
+     */
+    @SneakyThrows
+    public static SecretKey generateSecretKey(SecureRandom random) {
         KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
-        SecureRandom random = SecureRandom.getInstanceStrong();
         keyGenerator.init(AES_KEY_SIZE, random);
         return keyGenerator.generateKey();
     }
@@ -114,7 +163,18 @@ public class SimpleGCMByteEncryptor implements ByteEncryptor {
      */
     @SneakyThrows
     public static String generateBase64EncodedSecretKey() {
-        SecretKey key = generateSecretKey();
+        return generateBase64EncodedSecretKey(SecureRandom.getInstanceStrong());
+    }
+
+    /**
+     * <p>generateBase64EncodedSecretKey.</p>
+     *
+     * @param random a {@link java.security.SecureRandom} object
+     * @return a {@link java.lang.String} object
+     * @see #generateSecretKey(SecureRandom)
+     */
+    public static String generateBase64EncodedSecretKey(SecureRandom random) {
+        SecretKey key = generateSecretKey(random);
         byte[] secretKeyBytes = key.getEncoded();
         return Base64.getEncoder().encodeToString(secretKeyBytes);
     }
@@ -141,8 +201,9 @@ public class SimpleGCMByteEncryptor implements ByteEncryptor {
      * @param config a {@link com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig} object
      */
     public SimpleGCMByteEncryptor(SimpleGCMConfig config) {
-        this.key = Singleton.from(this::loadSecretKey, config);
+        this.key = Singleton.from(SimpleGCMByteEncryptor::loadSecretKey, config);
         this.ivGenerator = Singleton.from(config::getActualIvGenerator);
         this.algorithm = config.getAlgorithm();
+        this.provider = Singleton.from(() -> ProviderSelector.select(config.getProviderName(), this.algorithm, this::benchmark));
     }
 }
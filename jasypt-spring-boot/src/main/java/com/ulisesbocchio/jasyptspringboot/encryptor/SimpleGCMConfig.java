@@ -37,6 +37,7 @@ public class SimpleGCMConfig {
     private SaltGenerator saltGenerator = null;
     private IvGenerator ivGenerator = null;
     private String ivGeneratorClassName = "org.jasypt.iv.RandomIvGenerator";
+    private String providerName = null;
 
     private Resource loadResource(Resource asResource, String asString, String asLocation) {
         return Optional.ofNullable(asResource)
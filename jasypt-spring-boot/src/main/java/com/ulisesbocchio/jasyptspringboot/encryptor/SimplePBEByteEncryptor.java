@@ -5,14 +5,20 @@ import org.jasypt.encryption.pbe.PBEByteEncryptor;
 import org.jasypt.salt.SaltGenerator;
 
 import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 import java.nio.ByteBuffer;
 import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * <p>SimplePBEByteEncryptor class.</p>
+ * The password based {@link SecretKey} used for decryption is created once and reused, and each thread reuses its own
+ * {@link SecretKeyFactory} and {@link Cipher} instances, as neither is thread safe, so decrypting many properties
+ * doesn't pay for the provider lookups and key construction every time.
  *
  * @author Sergio.U.Bocchio
  * @version $Id: $Id
@@ -22,20 +28,22 @@ public class SimplePBEByteEncryptor implements PBEByteEncryptor {
     private String password = null;
     private SaltGenerator saltGenerator = null;
     private int iterations;
-    private String algorithm = null;
+    private volatile String algorithm = null;
+    private volatile SecretKey decryptionKey = null;
+    private final ThreadLocal<ThreadCrypto> threadCrypto = new ThreadLocal<>();
 
     /** {@inheritDoc} */
     @Override
     @SneakyThrows
     public byte[] encrypt(byte[] message) {
         // create Key
-        final SecretKeyFactory factory = SecretKeyFactory.getInstance(algorithm);
         byte[] salt = saltGenerator.generateSalt(8);
         final PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, iterations);
-        SecretKey key = factory.generateSecret(keySpec);
+        ThreadCrypto crypto = threadCrypto();
+        SecretKey key = crypto.factory.generateSecret(keySpec);
 
         // Build cipher.
-        final Cipher cipherEncrypt = Cipher.getInstance(algorithm);
+        final Cipher cipherEncrypt = crypto.cipher;
         cipherEncrypt.init(Cipher.ENCRYPT_MODE, key);
 
         // Save parameters
@@ -63,20 +71,15 @@ public class SimplePBEByteEncryptor implements PBEByteEncryptor {
         System.arraycopy(encryptedMessage, 1, params, 0, paramsLength);
         System.arraycopy(encryptedMessage, paramsLength + 1, message, 0, messageLength);
 
-        // create Key
-        final SecretKeyFactory factory = SecretKeyFactory.getInstance(algorithm);
-        final PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray());
-        SecretKey key = factory.generateSecret(keySpec);
-
         // Build parameters
         AlgorithmParameters algorithmParameters = AlgorithmParameters.getInstance(algorithm);
         algorithmParameters.init(params);
 
         // Build Cipher
-        final Cipher cipherDecrypt = Cipher.getInstance(algorithm);
+        final Cipher cipherDecrypt = threadCrypto().cipher;
         cipherDecrypt.init(
                 Cipher.DECRYPT_MODE,
-                key,
+                getDecryptionKey(),
                 algorithmParameters
         );
 
@@ -84,10 +87,32 @@ public class SimplePBEByteEncryptor implements PBEByteEncryptor {
         return cipherDecrypt.doFinal(message);
     }
 
+    private ThreadCrypto threadCrypto() throws NoSuchAlgorithmException {
+        String algorithm = this.algorithm;
+        ThreadCrypto crypto = threadCrypto.get();
+        if (crypto == null || !crypto.algorithm.equals(algorithm)) {
+            crypto = new ThreadCrypto(algorithm);
+            threadCrypto.set(crypto);
+        }
+        return crypto;
+    }
+
+    private SecretKey getDecryptionKey() throws GeneralSecurityException {
+        SecretKey key = this.decryptionKey;
+        if (key == null) {
+            // create Key
+            final PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray());
+            key = threadCrypto().factory.generateSecret(keySpec);
+            this.decryptionKey = key;
+        }
+        return key;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void setPassword(String password) {
         this.password = password;
+        this.decryptionKey = null;
     }
 
     /**
@@ -115,5 +140,25 @@ public class SimplePBEByteEncryptor implements PBEByteEncryptor {
      */
     public void setAlgorithm(String algorithm) {
         this.algorithm = algorithm;
+        this.decryptionKey = null;
+    }
+
+    /**
+     * The key factory and cipher of a thread, for the algorithm they were created with.
+     */
+    private static class ThreadCrypto {
+        private final String algorithm;
+        private final SecretKeyFactory factory;
+        private final Cipher cipher;
+
+        ThreadCrypto(String algorithm) throws NoSuchAlgorithmException {
+            this.algorithm = algorithm;
+            this.factory = SecretKeyFactory.getInstance(algorithm);
+            try {
+                this.cipher = Cipher.getInstance(algorithm);
+            } catch (NoSuchPaddingException e) {
+                throw new NoSuchAlgorithmException(e);
+            }
+        }
     }
 }
@@ -28,4 +28,16 @@ public class DecryptionException extends RuntimeException {
     public DecryptionException(final String message, final Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * <p>Constructor for DecryptionException.</p>
+     *
+     * @param message a {@link java.lang.String} object
+     * @param cause a {@link java.lang.Throwable} object
+     * @param writableStackTrace whether the stack trace should be captured, disable it for exceptions that are created
+     *                           once and thrown many times
+     */
+    public DecryptionException(final String message, final Throwable cause, final boolean writableStackTrace) {
+        super(message, cause, true, writableStackTrace);
+    }
 }
@@ -3,7 +3,13 @@ package com.ulisesbocchio.jasyptspringboot.filter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import org.springframework.core.env.PropertySource;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Default Strategy for contemplating properties for decryption based on the following constructor args:
@@ -11,16 +17,27 @@ import java.util.List;
  * <b>includeSourceNames:</b> To include property sources by name, provide a list of regex. If set, property sources that don't match will be excluded
  * <b>includePropertyNames:</b> To include properties by name, provide a list of regex. If set, properties that don't match will be excluded
  * </p>
+ * Patterns are compiled once, and decisions are remembered by property source and property name, so checking the same
+ * property again is a map lookup. Up to {@value #MAX_CACHED_DECISIONS} decisions are kept, the least recently used
+ * ones being evicted, so neither property sources producing unique names nor removed property sources make it grow.
  *
  * @author Ulises Bocchio
  * @version $Id: $Id
  */
 public class DefaultPropertyFilter implements EncryptablePropertyFilter {
 
-    private final List<String> includeSourceNames;
-    private final List<String> excludeSourceNames;
-    private final List<String> includePropertyNames;
-    private final List<String> excludePropertyNames;
+    private static final int MAX_CACHED_DECISIONS = 4096;
+    private final List<Pattern> includeSourceNames;
+    private final List<Pattern> excludeSourceNames;
+    private final List<Pattern> includePropertyNames;
+    private final List<Pattern> excludePropertyNames;
+    private final LinkedHashMap<DecisionKey, Boolean> decisions = new LinkedHashMap<DecisionKey, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DecisionKey, Boolean> eldest) {
+            return size() > MAX_CACHED_DECISIONS;
+        }
+    };
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
      * <p>Constructor for DefaultPropertyFilter.</p>
@@ -41,10 +58,10 @@ public class DefaultPropertyFilter implements EncryptablePropertyFilter {
      * @param excludePropertyNames a {@link java.util.List} object
      */
     public DefaultPropertyFilter(List<String> includeSourceNames, List<String> excludeSourceNames, List<String> includePropertyNames, List<String> excludePropertyNames) {
-        this.includeSourceNames = includeSourceNames;
-        this.excludeSourceNames = excludeSourceNames;
-        this.includePropertyNames = includePropertyNames;
-        this.excludePropertyNames = excludePropertyNames;
+        this.includeSourceNames = compile(includeSourceNames);
+        this.excludeSourceNames = compile(excludeSourceNames);
+        this.includePropertyNames = compile(includePropertyNames);
+        this.excludePropertyNames = compile(excludePropertyNames);
     }
 
     /** {@inheritDoc} */
@@ -53,13 +70,44 @@ public class DefaultPropertyFilter implements EncryptablePropertyFilter {
         if (isIncludeAll()) {
             return true;
         }
+        if (name == null) {
+            return decide(source.getName(), null);
+        }
+        DecisionKey key = new DecisionKey(source.getName(), name);
+        Boolean decision;
+        lock.lock();
+        try {
+            decision = decisions.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (decision == null) {
+            decision = decide(key.sourceName, name);
+            lock.lock();
+            try {
+                decisions.put(key, decision);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return decision;
+    }
 
-        if (isMatch(source.getName(), excludeSourceNames) || isMatch(name, excludePropertyNames)) {
-            return false;
+    int cachedDecisions() {
+        lock.lock();
+        try {
+            return decisions.size();
+        } finally {
+            lock.unlock();
         }
+    }
 
-        return isIncludeUnset() || isMatch(source.getName(), includeSourceNames) || isMatch(name, includePropertyNames);
+    private boolean decide(String sourceName, String name) {
+        if (isMatch(sourceName, excludeSourceNames) || isMatch(name, excludePropertyNames)) {
+            return false;
+        }
 
+        return isIncludeUnset() || isMatch(sourceName, includeSourceNames) || isMatch(name, includePropertyNames);
     }
 
     private boolean isIncludeAll() {
@@ -74,11 +122,50 @@ public class DefaultPropertyFilter implements EncryptablePropertyFilter {
         return isEmpty(excludeSourceNames) && isEmpty(excludePropertyNames);
     }
 
-    private boolean isEmpty(List<String> patterns) {
+    private boolean isEmpty(List<Pattern> patterns) {
         return patterns == null || patterns.isEmpty();
     }
 
-    private boolean isMatch(String name, List<String> patterns) {
-        return name != null && !isEmpty(patterns) && patterns.stream().anyMatch(name::matches);
+    private boolean isMatch(String name, List<Pattern> patterns) {
+        if (name == null || isEmpty(patterns)) {
+            return false;
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(List<String> patterns) {
+        return patterns == null ? null : patterns.stream().map(Pattern::compile).collect(Collectors.toList());
+    }
+
+    private static class DecisionKey {
+        private final String sourceName;
+        private final String name;
+
+        DecisionKey(String sourceName, String name) {
+            this.sourceName = sourceName;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DecisionKey)) {
+                return false;
+            }
+            DecisionKey other = (DecisionKey) o;
+            return Objects.equals(sourceName, other.sourceName) && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(sourceName) + name.hashCode();
+        }
     }
 }
@@ -1,8 +1,11 @@
 package com.ulisesbocchio.jasyptspringboot.properties;
 
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
+import com.ulisesbocchio.jasyptspringboot.caching.CacheRefreshMode;
+import com.ulisesbocchio.jasyptspringboot.caching.CacheStorage;
 import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricConfig;
 import com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMConfig;
+import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyAlgorithm;
 import com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyFormat;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -20,8 +23,10 @@ import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MutablePropertySources;
 
 import java.lang.annotation.Annotation;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -118,8 +123,11 @@ public class JasyptEncryptorConfigurationProperties {
 
     /**
      * The name of the {@link java.security.Provider} implementation to be used by the encryptor for obtaining the
-     * encryption algorithm. Default Value is {@code null}.
+     * encryption algorithm, for password based, GCM and asymmetric encryption, including ECIES key agreement and RSA
+     * envelope key wrapping. With {@code auto} the fastest registered provider for the algorithm is selected by a short
+     * benchmark on first use. Default Value is {@code null}.
      *
+     * @see com.ulisesbocchio.jasyptspringboot.util.ProviderSelector
      * @see org.jasypt.encryption.pbe.PBEStringEncryptor
      * @see org.jasypt.encryption.pbe.config.StringPBEConfig#getProviderName()
      */
@@ -127,7 +135,8 @@ public class JasyptEncryptorConfigurationProperties {
 
     /**
      * The class name of the {@link java.security.Provider} implementation to be used by the encryptor for obtaining the
-     * encryption algorithm. Default Value is {@code null}.
+     * encryption algorithm. Only applies to password based encryption, use {@link #providerName} with a registered
+     * provider for the other encryptors. Default Value is {@code null}.
      *
      * @see org.jasypt.encryption.pbe.PBEStringEncryptor
      * @see org.jasypt.encryption.pbe.config.SimpleStringPBEConfig#setProviderClassName(String)
@@ -145,7 +154,10 @@ public class JasyptEncryptorConfigurationProperties {
 
     /**
      * A {@link org.jasypt.iv.IvGenerator} implementation to be used by the encryptor. Default Value is
-     * {@code "org.jasypt.iv.RandomIvGenerator"}.
+     * {@code "org.jasypt.iv.RandomIvGenerator"}. At high encryption rates
+     * {@link com.ulisesbocchio.jasyptspringboot.encryptor.StripedRandomIvGenerator} avoids contention on a shared random
+     * source, and {@link com.ulisesbocchio.jasyptspringboot.encryptor.CounterIvGenerator} generates GCM IVs without
+     * random bytes.
      *
      * @see org.jasypt.encryption.pbe.PBEStringEncryptor
      * @see org.jasypt.encryption.pbe.config.StringPBEConfig#getIvGenerator()
@@ -211,6 +223,27 @@ public class JasyptEncryptorConfigurationProperties {
      */
     private KeyFormat publicKeyFormat = KeyFormat.DER;
 
+    /**
+     * Whether asymmetric encryption should seal messages in an envelope: the message encrypted with AES/GCM using a data
+     * key, and the data key encrypted with the public key. Envelopes have no size limit and share the RSA operation
+     * among all the messages sealed with the same data key. Messages encrypted without an envelope always decrypt.
+     * Default value is {@code false}
+     *
+     * @see com.ulisesbocchio.jasyptspringboot.encryptor.SimpleAsymmetricStringEncryptor
+     * @see SimpleAsymmetricConfig#isEnvelope()
+     */
+    private Boolean asymmetricEnvelope = false;
+
+    /**
+     * Specify the asymmetric key algorithm: RSA (default), X25519 or EC. With X25519 and EC keys messages are encrypted
+     * with AES/GCM using a key derived from an X25519/ECDH key agreement (ECIES), which has no size limit and makes
+     * decryption much cheaper than RSA.
+     *
+     * @see com.ulisesbocchio.jasyptspringboot.encryptor.SimpleECIESByteEncryptor
+     * @see SimpleAsymmetricConfig#getKeyAlgorithm()
+     */
+    private KeyAlgorithm asymmetricKeyAlgorithm = KeyAlgorithm.RSA;
+
     /**
      * Specify a secret key String in base64 for the GCM Algorithm
      *
@@ -219,6 +252,23 @@ public class JasyptEncryptorConfigurationProperties {
      */
     private String gcmSecretKeyString = null;
 
+    /**
+     * Specify a keyring of secret Strings in base64 for the GCM Algorithm, by key id. Values are encrypted with the key
+     * of {@link #gcmSecretKeyId} and tagged with its id as {@code {keyId}cipherText}, and decrypted with the key of
+     * their tag, so keys can be rotated without re-encrypting offline. When {@link #gcmSecretKeyString},
+     * {@link #gcmSecretKeyLocation} or {@link #gcmSecretKeyPassword} are set as well, they decrypt the untagged values.
+     *
+     * @see com.ulisesbocchio.jasyptspringboot.encryptor.KeyringStringEncryptor
+     */
+    private Map<String, String> gcmSecretKeys = null;
+
+    /**
+     * Specify the id of the key in {@link #gcmSecretKeys} used to encrypt. Required with {@link #gcmSecretKeys}
+     *
+     * @see com.ulisesbocchio.jasyptspringboot.encryptor.KeyringStringEncryptor
+     */
+    private String gcmSecretKeyId = null;
+
     /**
      * Specify a secret key resource location in base64 for the GCM Algorithm
      *
@@ -257,9 +307,22 @@ public class JasyptEncryptorConfigurationProperties {
      */
     private String gcmSecretKeyAlgorithm = "PBKDF2WithHmacSHA256";
 
+    /**
+     * Specify the cipher used with the gcm secret key: {@code AES/GCM/NoPadding} (default) or {@code ChaCha20-Poly1305},
+     * which is faster on hosts without AES hardware acceleration. The same key works with both.
+     *
+     * @see com.ulisesbocchio.jasyptspringboot.encryptor.SimpleGCMStringEncryptor
+     * @see com.ulisesbocchio.jasyptspringboot.encryptor.SimpleChaCha20StringEncryptor
+     * @see SimpleGCMConfig#getAlgorithm()
+     */
+    private String gcmAlgorithm = "AES/GCM/NoPadding";
+
     @NestedConfigurationProperty
     private PropertyConfigurationProperties property = new PropertyConfigurationProperties();
 
+    @NestedConfigurationProperty
+    private CacheConfigurationProperties cache = new CacheConfigurationProperties();
+
     /**
      * <p>getKeyObtentionIterationsInt.</p>
      *
@@ -303,6 +366,17 @@ public class JasyptEncryptorConfigurationProperties {
          */
         private String suffix = ")";
 
+        /**
+         * Specify whether encrypted segments embedded in larger values, like
+         * {@code jdbc:mysql://host/db?user=ENC(...)&password=ENC(...)}, should be decrypted in place. When enabled
+         * every prefix/suffix enclosed segment of a value is decrypted. Segments are found with the prefix and suffix,
+         * a custom {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector} is only used for values
+         * without any segment. Default value is {@code false}
+         *
+         * @see com.ulisesbocchio.jasyptspringboot.resolver.InlinePropertyResolver
+         */
+        private boolean inline = false;
+
         @NestedConfigurationProperty
         private FilterConfigurationProperties filter = new FilterConfigurationProperties();
 
@@ -334,4 +408,98 @@ public class JasyptEncryptorConfigurationProperties {
             private List<String> excludeNames = singletonList("^jasypt\\.encryptor\\.*");
         }
     }
+
+    @Data
+    public static class CacheConfigurationProperties {
+
+        /**
+         * Whether decrypted values should also be kept in a cache shared by all the encryptable property sources, so
+         * an encrypted value that shows up in more than one property source (profiles, bootstrap, env variables, etc)
+         * is only decrypted once per {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver}. The shared
+         * cache uses the same bounds and storage as the cache of each property source.
+         * Default value is {@code false}
+         *
+         * @see com.ulisesbocchio.jasyptspringboot.caching.SharedDecryptionCache
+         */
+        private boolean shared = false;
+
+        /**
+         * Maximum number of decrypted properties kept in the cache of each property source. When exceeded, the least
+         * recently used entries are evicted. Default value is {@code 0}, no limit
+         */
+        private int maxEntries = 0;
+
+        /**
+         * Maximum weight, in characters, of the decrypted properties kept in the cache of each property source. The
+         * weight of an entry is the length of its name, its original value and its decrypted value. With
+         * {@link #compact}, the original value counts as the 24 characters taken by its fingerprint. When exceeded,
+         * the least recently used entries are evicted. Default value is {@code 0}, no limit
+         */
+        private long maxWeight = 0;
+
+        /**
+         * What to do with the cached properties when a refresh event is received. {@code CLEAR} drops them so they are
+         * decrypted again on next access, {@code GENERATIONAL} keeps serving them while the cached properties are
+         * decrypted again in the background, and publishes the new values at once when done.
+         * Default value is {@code CLEAR}
+         *
+         * @see com.ulisesbocchio.jasyptspringboot.caching.CacheRefreshMode
+         */
+        private CacheRefreshMode refreshMode = CacheRefreshMode.CLEAR;
+
+        /**
+         * Where the decrypted properties are kept. {@code HEAP} keeps them as regular strings, {@code OFF_HEAP} keeps
+         * them in direct buffers outside the heap that are zeroed when the properties are evicted or refreshed.
+         * Default value is {@code HEAP}
+         *
+         * @see com.ulisesbocchio.jasyptspringboot.caching.CacheStorage
+         */
+        private CacheStorage storage = CacheStorage.HEAP;
+
+        /**
+         * Whether the cache should remember the original (encrypted) value of each property by a 128-bit SHA-256
+         * fingerprint and its length instead of keeping a copy of it, halving the memory used by large encrypted values.
+         * Default value is {@code false}
+         */
+        private boolean compact = false;
+
+        /**
+         * Whether the properties of the property sources loaded from files should be checked once, when loaded or
+         * first resolved, for values that need to be resolved (encrypted values, placeholders), so every other property
+         * is returned as is without being checked, filtered or cached. {@code @EncryptablePropertySource} sources
+         * without any such property are not made encryptable at all. Default value is {@code false}
+         *
+         * @see com.ulisesbocchio.jasyptspringboot.caching.EncryptedPropertyKeys
+         */
+        private boolean tagEncryptedKeys = false;
+
+        /**
+         * How long a property that failed to decrypt is remembered as failed. While remembered, reading the property
+         * throws the same {@link com.ulisesbocchio.jasyptspringboot.exception.DecryptionException} again, without
+         * attempting to decrypt it, until its value changes or the cache is refreshed.
+         * Default value is {@code 0}, failures are not remembered
+         */
+        private Duration failureTtl = Duration.ZERO;
+
+        /**
+         * Whether all the encrypted properties should be decrypted at startup, right after the property sources are
+         * made encryptable, so the first access to them doesn't pay the decryption cost.
+         * Default value is {@code false}
+         *
+         * @see com.ulisesbocchio.jasyptspringboot.caching.EncryptablePropertiesWarmUp
+         */
+        private boolean warmUp = false;
+
+        /**
+         * Maximum time the startup warm-up is allowed to take. Properties not decrypted by then are decrypted on first
+         * access. Default value is {@code 10s}
+         */
+        private Duration warmUpTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Number of threads used to decrypt properties during the startup warm-up.
+         * Default value is the number of available processors
+         */
+        private int warmUpParallelism = Runtime.getRuntime().availableProcessors();
+    }
 }
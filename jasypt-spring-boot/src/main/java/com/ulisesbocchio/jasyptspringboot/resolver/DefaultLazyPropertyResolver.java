@@ -2,12 +2,17 @@ package com.ulisesbocchio.jasyptspringboot.resolver;
 
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.configuration.EnvCopy;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties;
 import com.ulisesbocchio.jasyptspringboot.util.Singleton;
 import lombok.extern.slf4j.Slf4j;
 import org.jasypt.encryption.StringEncryptor;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static com.ulisesbocchio.jasyptspringboot.util.Functional.tap;
@@ -34,6 +39,21 @@ public class DefaultLazyPropertyResolver implements EncryptablePropertyResolver
      * @param environment a {@link org.springframework.core.env.Environment} object
      */
     public DefaultLazyPropertyResolver(EncryptablePropertyDetector propertyDetector, StringEncryptor encryptor, String customResolverBeanName, boolean isCustom, BeanFactory bf, Environment environment) {
+        this(propertyDetector, encryptor, customResolverBeanName, isCustom, bf, environment, bindConfigProps(environment));
+    }
+
+    /**
+     * <p>Constructor for DefaultLazyPropertyResolver.</p>
+     *
+     * @param propertyDetector a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector} object
+     * @param encryptor a {@link org.jasypt.encryption.StringEncryptor} object
+     * @param customResolverBeanName a {@link java.lang.String} object
+     * @param isCustom a boolean
+     * @param bf a {@link org.springframework.beans.factory.BeanFactory} object
+     * @param environment a {@link org.springframework.core.env.Environment} object
+     * @param configProps the already bound jasypt configuration, only read if no custom resolver is found
+     */
+    public DefaultLazyPropertyResolver(EncryptablePropertyDetector propertyDetector, StringEncryptor encryptor, String customResolverBeanName, boolean isCustom, BeanFactory bf, Environment environment, Singleton<JasyptEncryptorConfigurationProperties> configProps) {
         singleton = new Singleton<>(() ->
                 Optional.of(customResolverBeanName)
                         .filter(bf::containsBean)
@@ -44,7 +64,7 @@ public class DefaultLazyPropertyResolver implements EncryptablePropertyResolver
                                 throw new IllegalStateException(String.format("Property Resolver custom Bean not found with name '%s'", customResolverBeanName));
                             }
                             log.info("Property Resolver custom Bean not found with name '{}'. Initializing Default Property Resolver", customResolverBeanName);
-                            return createDefault(propertyDetector, encryptor, environment);
+                            return createDefault(propertyDetector, encryptor, environment, configProps);
                         }));
     }
 
@@ -56,10 +76,35 @@ public class DefaultLazyPropertyResolver implements EncryptablePropertyResolver
      * @param environment a {@link org.springframework.core.env.Environment} object
      */
     public DefaultLazyPropertyResolver(EncryptablePropertyDetector propertyDetector, StringEncryptor encryptor, Environment environment) {
-        singleton = new Singleton<>(() -> createDefault(propertyDetector, encryptor, environment));
+        this(propertyDetector, encryptor, environment, bindConfigProps(environment));
     }
 
-    private DefaultPropertyResolver createDefault(EncryptablePropertyDetector propertyDetector, StringEncryptor encryptor, Environment environment) {
+    /**
+     * <p>Constructor for DefaultLazyPropertyResolver.</p>
+     *
+     * @param propertyDetector a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector} object
+     * @param encryptor a {@link org.jasypt.encryption.StringEncryptor} object
+     * @param environment a {@link org.springframework.core.env.Environment} object
+     * @param configProps the already bound jasypt configuration
+     */
+    public DefaultLazyPropertyResolver(EncryptablePropertyDetector propertyDetector, StringEncryptor encryptor, Environment environment, Singleton<JasyptEncryptorConfigurationProperties> configProps) {
+        singleton = new Singleton<>(() -> createDefault(propertyDetector, encryptor, environment, configProps));
+    }
+
+    private static Singleton<JasyptEncryptorConfigurationProperties> bindConfigProps(Environment environment) {
+        //Bound from a copy of the original property sources, binding through the encryptable ones would resolve with this very resolver
+        return new Singleton<>(() -> environment instanceof ConfigurableEnvironment
+                ? JasyptEncryptorConfigurationProperties.bindConfigProps(new EnvCopy((ConfigurableEnvironment) environment).get())
+                : null);
+    }
+
+    private DefaultPropertyResolver createDefault(EncryptablePropertyDetector propertyDetector, StringEncryptor encryptor, Environment environment, Singleton<JasyptEncryptorConfigurationProperties> configProps) {
+        JasyptEncryptorConfigurationProperties config = configProps.get();
+        if (config != null && config.getProperty().isInline()) {
+            JasyptEncryptorConfigurationProperties.PropertyConfigurationProperties props = config.getProperty();
+            log.info("Decrypting encrypted segments embedded in property values");
+            return new InlinePropertyResolver(encryptor, propertyDetector, props.getPrefix(), props.getSuffix(), environment);
+        }
         return new DefaultPropertyResolver(encryptor, propertyDetector, environment);
     }
 
@@ -68,4 +113,32 @@ public class DefaultLazyPropertyResolver implements EncryptablePropertyResolver
     public String resolvePropertyValue(String value) {
         return singleton.get().resolvePropertyValue(value);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> resolvePropertyValues(List<String> values) {
+        return singleton.get().resolvePropertyValues(values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean mayResolve(String value) {
+        return singleton.get().mayResolve(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void refresh() {
+        if (singleton.isInitialized()) {
+            singleton.get().refresh();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void refresh(Collection<String> names) {
+        if (singleton.isInitialized()) {
+            singleton.get().refresh(names);
+        }
+    }
 }
@@ -3,23 +3,39 @@ package com.ulisesbocchio.jasyptspringboot.resolver;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
 import com.ulisesbocchio.jasyptspringboot.detector.DefaultPropertyDetector;
+import com.ulisesbocchio.jasyptspringboot.encryptor.BatchStringEncryptor;
 import com.ulisesbocchio.jasyptspringboot.exception.DecryptionException;
 import org.jasypt.encryption.StringEncryptor;
 import org.jasypt.exceptions.EncryptionOperationNotPossibleException;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.PropertySources;
 import org.springframework.util.Assert;
+import org.springframework.util.SystemPropertyUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-import java.util.Optional;
 
 /**
  * <p>DefaultPropertyResolver class.</p>
+ * Placeholders are only resolved in values that have the placeholder prefix, and their resolution is memoized, so
+ * values with placeholders don't walk all the property sources on every resolution. The memo keeps the most recently
+ * used resolutions, and is dropped on {@link #refresh()} and whenever a property source of a
+ * {@link ConfigurableEnvironment} is added, removed or replaced, as a new source may take precedence.
  *
  * @author Ulises Bocchio
  * @version $Id: $Id
  */
 public class DefaultPropertyResolver implements EncryptablePropertyResolver {
 
+    private static final int MAX_MEMOIZED_PLACEHOLDERS = 1024;
     private final Environment environment;
+    private volatile PlaceholderMemo placeholders = new PlaceholderMemo(new PropertySource<?>[0]);
     private StringEncryptor encryptor;
     private EncryptablePropertyDetector detector;
 
@@ -51,19 +67,148 @@ public class DefaultPropertyResolver implements EncryptablePropertyResolver {
     /** {@inheritDoc} */
     @Override
     public String resolvePropertyValue(String value) {
-        return Optional.ofNullable(value)
-                .map(environment::resolvePlaceholders)
-                .filter(detector::isEncrypted)
-                .map(resolvedValue -> {
-                    try {
-                        String unwrappedProperty = detector.unwrapEncryptedValue(resolvedValue.trim());
-                        String resolvedProperty = environment.resolvePlaceholders(unwrappedProperty);
-                        return encryptor.decrypt(resolvedProperty);
-                    } catch (EncryptionOperationNotPossibleException e) {
-                        throw new DecryptionException("Unable to decrypt property: " + value + " resolved to: " + resolvedValue + ". Decryption of Properties failed,  make sure encryption/decryption " +
-                                "passwords match", e);
-                    }
-                })
-                .orElse(value);
+        if (value == null) {
+            return null;
+        }
+        String resolvedValue = resolvePlaceholders(value);
+        if (!detector.isEncrypted(resolvedValue)) {
+            return value;
+        }
+        try {
+            String unwrappedProperty = detector.unwrapEncryptedValue(resolvedValue.trim());
+            String resolvedProperty = resolvePlaceholders(unwrappedProperty);
+            return encryptor.decrypt(resolvedProperty);
+        } catch (EncryptionOperationNotPossibleException e) {
+            throw new DecryptionException("Unable to decrypt property: " + value + " resolved to: " + resolvedValue + ". Decryption of Properties failed,  make sure encryption/decryption " +
+                    "passwords match", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The encrypted values are decrypted in one call, in batch if the encryptor is a {@link BatchStringEncryptor}.
+     */
+    @Override
+    public List<String> resolvePropertyValues(List<String> values) {
+        List<String> resolvedValues = new ArrayList<>(values);
+        List<Integer> encryptedIndexes = new ArrayList<>();
+        List<String> encryptedValues = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String resolvedValue = resolvePlaceholders(value);
+            if (detector.isEncrypted(resolvedValue)) {
+                encryptedIndexes.add(i);
+                encryptedValues.add(resolvePlaceholders(detector.unwrapEncryptedValue(resolvedValue.trim())));
+            }
+        }
+        if (encryptedValues.isEmpty()) {
+            return resolvedValues;
+        }
+        List<String> decryptedValues;
+        try {
+            decryptedValues = BatchStringEncryptor.decryptAll(encryptor, encryptedValues);
+        } catch (EncryptionOperationNotPossibleException e) {
+            throw new DecryptionException("Unable to decrypt " + encryptedValues.size() + " properties in batch. Decryption of Properties failed,  make sure encryption/decryption " +
+                    "passwords match", e);
+        }
+        for (int i = 0; i < encryptedIndexes.size(); i++) {
+            resolvedValues.set(encryptedIndexes.get(i), decryptedValues.get(i));
+        }
+        return resolvedValues;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean mayResolve(String value) {
+        return value.contains(SystemPropertyUtils.PLACEHOLDER_PREFIX) || detector.isEncrypted(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void refresh() {
+        placeholders = new PlaceholderMemo(new PropertySource<?>[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The whole memo is dropped, as a changed property may be mentioned by a relaxed name, like {@code FOO_BAR} for
+     * {@code ${foo.bar}}, or through other placeholders. The memo is bounded, so this is cheap.
+     */
+    @Override
+    public void refresh(Collection<String> names) {
+        refresh();
+    }
+
+    /**
+     * <p>Resolve the placeholders of a text, if it has any.</p>
+     *
+     * @param text the text to resolve
+     * @return the text with its placeholders resolved
+     */
+    protected String resolvePlaceholders(String text) {
+        if (!text.contains(SystemPropertyUtils.PLACEHOLDER_PREFIX)) {
+            return text;
+        }
+        PlaceholderMemo memo = currentPlaceholders();
+        String resolved = memo.get(text);
+        if (resolved == null) {
+            resolved = environment.resolvePlaceholders(text);
+            //Unresolvable placeholders may become resolvable as property sources are added, so they are not memoized
+            if (!resolved.contains(SystemPropertyUtils.PLACEHOLDER_PREFIX)) {
+                memo.put(text, resolved);
+            }
+        }
+        return resolved;
+    }
+
+    private PlaceholderMemo currentPlaceholders() {
+        PlaceholderMemo memo = placeholders;
+        if (environment instanceof ConfigurableEnvironment) {
+            PropertySources propertySources = ((ConfigurableEnvironment) environment).getPropertySources();
+            if (!memo.isFor(propertySources)) {
+                memo = new PlaceholderMemo(propertySources.stream().toArray(PropertySource<?>[]::new));
+                placeholders = memo;
+            }
+        }
+        return memo;
+    }
+
+    /**
+     * Placeholder resolutions, in least recently used order, for the property sources they were resolved against.
+     */
+    private static class PlaceholderMemo {
+        private final PropertySource<?>[] propertySources;
+        private final LinkedHashMap<String, String> resolutions = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MAX_MEMOIZED_PLACEHOLDERS;
+            }
+        };
+
+        PlaceholderMemo(PropertySource<?>[] propertySources) {
+            this.propertySources = propertySources;
+        }
+
+        boolean isFor(PropertySources current) {
+            int i = 0;
+            //Property sources are equal by name, a replaced source must drop the memo too
+            for (PropertySource<?> propertySource : current) {
+                if (i >= propertySources.length || propertySources[i++] != propertySource) {
+                    return false;
+                }
+            }
+            return i == propertySources.length;
+        }
+
+        synchronized String get(String text) {
+            return resolutions.get(text);
+        }
+
+        synchronized void put(String text, String resolved) {
+            resolutions.put(text, resolved);
+        }
     }
 }
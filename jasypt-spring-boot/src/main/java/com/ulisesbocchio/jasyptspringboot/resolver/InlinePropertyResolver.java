@@ -0,0 +1,125 @@
+package com.ulisesbocchio.jasyptspringboot.resolver;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyDetector;
+import com.ulisesbocchio.jasyptspringboot.detector.DefaultPropertyDetector;
+import com.ulisesbocchio.jasyptspringboot.encryptor.BatchStringEncryptor;
+import com.ulisesbocchio.jasyptspringboot.exception.DecryptionException;
+import org.jasypt.encryption.StringEncryptor;
+import org.jasypt.exceptions.EncryptionOperationNotPossibleException;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * <p>InlinePropertyResolver class.</p>
+ * Resolver that decrypts every encrypted segment embedded in a property value, like
+ * {@code jdbc:mysql://host/db?user=ENC(...)&password=ENC(...)}, leaving the rest of the value as is. Segments are
+ * found in a single left to right pass, decrypted together in one batch, and the value is rebuilt in a single
+ * {@link StringBuilder}. A value that is a single encrypted segment resolves exactly as with
+ * {@link com.ulisesbocchio.jasyptspringboot.resolver.DefaultPropertyResolver}. Values without any prefix and suffix
+ * delimited segment are resolved with the {@link EncryptablePropertyDetector}, so a custom detector still decrypts
+ * the whole values it recognizes.
+ *
+ * @author Ulises Bocchio
+ * @version $Id: $Id
+ */
+public class InlinePropertyResolver extends DefaultPropertyResolver {
+
+    private final StringEncryptor encryptor;
+    private final String prefix;
+    private final String suffix;
+
+    /**
+     * <p>Constructor for InlinePropertyResolver.</p>
+     *
+     * @param encryptor a {@link org.jasypt.encryption.StringEncryptor} object
+     * @param prefix the prefix of encrypted segments
+     * @param suffix the suffix of encrypted segments
+     * @param environment a {@link org.springframework.core.env.Environment} object
+     */
+    public InlinePropertyResolver(StringEncryptor encryptor, String prefix, String suffix, Environment environment) {
+        this(encryptor, new DefaultPropertyDetector(prefix, suffix), prefix, suffix, environment);
+    }
+
+    /**
+     * <p>Constructor for InlinePropertyResolver.</p>
+     *
+     * @param encryptor a {@link org.jasypt.encryption.StringEncryptor} object
+     * @param detector the detector for values without embedded segments
+     * @param prefix the prefix of encrypted segments
+     * @param suffix the suffix of encrypted segments
+     * @param environment a {@link org.springframework.core.env.Environment} object
+     */
+    public InlinePropertyResolver(StringEncryptor encryptor, EncryptablePropertyDetector detector, String prefix, String suffix, Environment environment) {
+        super(encryptor, detector, environment);
+        Assert.hasLength(prefix, "Prefix can't be empty");
+        Assert.hasLength(suffix, "Suffix can't be empty");
+        this.encryptor = encryptor;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean mayResolve(String value) {
+        return value.contains(prefix) || super.mayResolve(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Values are resolved one by one, the segments of each value being decrypted in batch.
+     */
+    @Override
+    public List<String> resolvePropertyValues(List<String> values) {
+        return values.stream().map(this::resolvePropertyValue).collect(Collectors.toList());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String resolvePropertyValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        String resolvedValue = resolvePlaceholders(value);
+        int start = resolvedValue.indexOf(prefix);
+        if (start < 0) {
+            return super.resolvePropertyValue(value);
+        }
+        List<int[]> segments = new ArrayList<>();
+        List<String> encryptedSegments = new ArrayList<>();
+        while (start >= 0) {
+            int end = resolvedValue.indexOf(suffix, start + prefix.length());
+            if (end < 0) {
+                break;
+            }
+            segments.add(new int[]{start, end + suffix.length()});
+            encryptedSegments.add(resolvePlaceholders(resolvedValue.substring(start + prefix.length(), end)));
+            start = resolvedValue.indexOf(prefix, end + suffix.length());
+        }
+        if (segments.isEmpty()) {
+            return super.resolvePropertyValue(value);
+        }
+        List<String> decryptedSegments;
+        try {
+            decryptedSegments = BatchStringEncryptor.decryptAll(encryptor, encryptedSegments);
+        } catch (EncryptionOperationNotPossibleException e) {
+            throw new DecryptionException("Unable to decrypt property: " + value + " resolved to: " + resolvedValue + ". Decryption of Properties failed,  make sure encryption/decryption " +
+                    "passwords match", e);
+        }
+        if (segments.size() == 1 && resolvedValue.trim().length() == segments.get(0)[1] - segments.get(0)[0]) {
+            //The whole value is encrypted, surrounding whitespace is dropped as with whole value decryption
+            return decryptedSegments.get(0);
+        }
+        StringBuilder resolved = new StringBuilder(resolvedValue.length());
+        int last = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            int[] segment = segments.get(i);
+            resolved.append(resolvedValue, last, segment[0]).append(decryptedSegments.get(i));
+            last = segment[1];
+        }
+        return resolved.append(resolvedValue, last, resolvedValue.length()).toString();
+    }
+}
@@ -6,10 +6,24 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.util.FileCopyUtils;
 
 import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
 import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.XECKey;
+import java.security.spec.ECGenParameterSpec;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
@@ -26,7 +40,13 @@ public class AsymmetricCryptography {
     private static final String PUBLIC_KEY_HEADER = "-----BEGIN PUBLIC KEY-----";
     private static final String PRIVATE_KEY_FOOTER = "-----END PRIVATE KEY-----";
     private static final String PUBLIC_KEY_FOOTER = "-----END PUBLIC KEY-----";
+    private static final String KEY_WRAP_ALGORITHM = "RSA/ECB/OAEPWithSHA-256AndMGF1Padding";
+    private static final String KDF_MAC_ALGORITHM = "HmacSHA256";
+    private static final String CIPHER_ALGORITHM = "RSA";
+    private static final String BENCHMARK_DATA_ALGORITHM = "AES/GCM/NoPadding";
     private final ResourceLoader resourceLoader;
+    private final Singleton<String> provider;
+    private final Singleton<String> keyAgreementProvider;
 
     /**
      * <p>Constructor for AsymmetricCryptography.</p>
@@ -34,7 +54,93 @@ public class AsymmetricCryptography {
      * @param resourceLoader a {@link org.springframework.core.io.ResourceLoader} object
      */
     public AsymmetricCryptography(ResourceLoader resourceLoader) {
+        this(resourceLoader, null);
+    }
+
+    /**
+     * <p>Constructor for AsymmetricCryptography.</p>
+     *
+     * @param resourceLoader a {@link org.springframework.core.io.ResourceLoader} object
+     * @param providerName the provider for plain RSA operations, {@value ProviderSelector#AUTO} or null for the default provider
+     */
+    public AsymmetricCryptography(ResourceLoader resourceLoader, String providerName) {
+        this(resourceLoader, providerName, KeyAlgorithm.RSA, false);
+    }
+
+    /**
+     * <p>Constructor for AsymmetricCryptography.</p>
+     * The provider is used for every cryptographic operation: ciphers, key wrapping, key generation, key agreement and
+     * key derivation. Keys are decoded with the default provider, encoded keys don't depend on the provider. In
+     * {@value ProviderSelector#AUTO} mode, the providers are benchmarked on the operations of the given scheme, so only
+     * the ones supporting all of them are considered. For ECIES, the key agreement (ephemeral key pairs and agreement)
+     * and the symmetric part (key derivation and AES/GCM) are selected separately, as the JDK splits them between the
+     * SunEC and SunJCE providers.
+     *
+     * @param resourceLoader a {@link org.springframework.core.io.ResourceLoader} object
+     * @param providerName the provider, {@value ProviderSelector#AUTO} or null for the default provider
+     * @param algorithm the key algorithm, RSA or an elliptic curve algorithm for ECIES
+     * @param envelope whether RSA wraps AES/GCM data keys rather than encrypting messages
+     */
+    public AsymmetricCryptography(ResourceLoader resourceLoader, String providerName, KeyAlgorithm algorithm, boolean envelope) {
         this.resourceLoader = resourceLoader;
+        String scheme = algorithm != KeyAlgorithm.RSA ? "ECIES " + algorithm : envelope ? "RSA envelope" : CIPHER_ALGORITHM;
+        this.provider = Singleton.from(() -> ProviderSelector.select(providerName, scheme, benchmark(algorithm, envelope)));
+        this.keyAgreementProvider = algorithm == KeyAlgorithm.RSA ? provider
+                : Singleton.from(() -> ProviderSelector.select(providerName, scheme + " key agreement", keyAgreementBenchmark(algorithm)));
+    }
+
+    /**
+     * Runs the operations of the scheme through an {@link AsymmetricCryptography} pinned to each provider.
+     */
+    private static ProviderSelector.Workload benchmark(KeyAlgorithm algorithm, boolean envelope) {
+        Singleton<KeyPair> keyPair = Singleton.from(() -> generateBenchmarkKeyPair(algorithm));
+        byte[] message = new byte[32];
+        SecureRandom random = new SecureRandom();
+        return provider -> {
+            AsymmetricCryptography crypto = new AsymmetricCryptography(null, provider.getName(), algorithm, envelope);
+            if (algorithm != KeyAlgorithm.RSA) {
+                // The key agreement is benchmarked on its own, see keyAgreementBenchmark
+                sealAndOpen(crypto, crypto.deriveKey(message, message, message, 256), message, random);
+            } else if (envelope) {
+                SecretKey dataKey = crypto.generateKey("AES", 256, random);
+                crypto.unwrapKey(crypto.wrapKey(dataKey, keyPair.get().getPublic()), keyPair.get().getPrivate());
+                sealAndOpen(crypto, dataKey, message, random);
+            } else {
+                crypto.decrypt(crypto.encrypt(message, keyPair.get().getPublic()), keyPair.get().getPrivate());
+            }
+        };
+    }
+
+    private static ProviderSelector.Workload keyAgreementBenchmark(KeyAlgorithm algorithm) {
+        Singleton<KeyPair> keyPair = Singleton.from(() -> generateBenchmarkKeyPair(algorithm));
+        return provider -> {
+            AsymmetricCryptography crypto = new AsymmetricCryptography(null, provider.getName(), algorithm, false);
+            KeyPair recipient = keyPair.get();
+            KeyPair ephemeral = crypto.generateKeyPair(recipient.getPublic());
+            crypto.agree(recipient.getPrivate(), ephemeral.getPublic());
+            crypto.agree(ephemeral.getPrivate(), recipient.getPublic());
+        };
+    }
+
+    private static void sealAndOpen(AsymmetricCryptography crypto, SecretKey key, byte[] message, SecureRandom random) throws GeneralSecurityException {
+        byte[] iv = new byte[12];
+        random.nextBytes(iv);
+        Cipher cipher = crypto.getCipher(BENCHMARK_DATA_ALGORITHM);
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        byte[] encrypted = cipher.doFinal(message);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, iv));
+        cipher.doFinal(encrypted);
+    }
+
+    @SneakyThrows
+    private static KeyPair generateBenchmarkKeyPair(KeyAlgorithm algorithm) {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyFactoryAlgorithm());
+        if (algorithm == KeyAlgorithm.RSA) {
+            generator.initialize(2048);
+        } else if (algorithm == KeyAlgorithm.EC) {
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+        }
+        return generator.generateKeyPair();
     }
 
     @SneakyThrows
@@ -70,14 +176,26 @@ public class AsymmetricCryptography {
      * @param format a {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyFormat} object
      * @return a {@link java.security.PrivateKey} object
      */
-    @SneakyThrows
     public PrivateKey getPrivateKey(Resource resource, KeyFormat format) {
+        return getPrivateKey(resource, format, KeyAlgorithm.RSA);
+    }
+
+    /**
+     * <p>getPrivateKey.</p>
+     *
+     * @param resource a {@link org.springframework.core.io.Resource} object
+     * @param format a {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyFormat} object
+     * @param algorithm a {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyAlgorithm} object
+     * @return a {@link java.security.PrivateKey} object
+     */
+    @SneakyThrows
+    public PrivateKey getPrivateKey(Resource resource, KeyFormat format, KeyAlgorithm algorithm) {
         byte[] keyBytes = getResourceBytes(resource);
         if (format == KeyFormat.PEM) {
             keyBytes = decodePem(keyBytes, PRIVATE_KEY_HEADER, PRIVATE_KEY_FOOTER);
         }
         PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(keyBytes);
-        KeyFactory kf = KeyFactory.getInstance("RSA");
+        KeyFactory kf = KeyFactory.getInstance(algorithm.getKeyFactoryAlgorithm());
         return kf.generatePrivate(spec);
     }
 
@@ -100,14 +218,39 @@ public class AsymmetricCryptography {
      * @param format a {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyFormat} object
      * @return a {@link java.security.PublicKey} object
      */
-    @SneakyThrows
     public PublicKey getPublicKey(Resource resource, KeyFormat format) {
+        return getPublicKey(resource, format, KeyAlgorithm.RSA);
+    }
+
+    /**
+     * <p>getPublicKey.</p>
+     *
+     * @param resource a {@link org.springframework.core.io.Resource} object
+     * @param format a {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyFormat} object
+     * @param algorithm a {@link com.ulisesbocchio.jasyptspringboot.util.AsymmetricCryptography.KeyAlgorithm} object
+     * @return a {@link java.security.PublicKey} object
+     */
+    @SneakyThrows
+    public PublicKey getPublicKey(Resource resource, KeyFormat format, KeyAlgorithm algorithm) {
         byte[] keyBytes = getResourceBytes(resource);
         if (format == KeyFormat.PEM) {
             keyBytes = decodePem(keyBytes, PUBLIC_KEY_HEADER, PUBLIC_KEY_FOOTER);
         }
-        X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-        KeyFactory kf = KeyFactory.getInstance("RSA");
+        return decodePublicKey(keyBytes, algorithm.getKeyFactoryAlgorithm());
+    }
+
+    /**
+     * <p>decodePublicKey.</p>
+     * Decodes a public key in X.509 encoding, as returned by {@link java.security.Key#getEncoded()}.
+     *
+     * @param encoded an array of {@link byte} objects
+     * @param keyFactoryAlgorithm a {@link java.lang.String} object
+     * @return a {@link java.security.PublicKey} object
+     */
+    @SneakyThrows
+    public PublicKey decodePublicKey(byte[] encoded, String keyFactoryAlgorithm) {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(encoded);
+        KeyFactory kf = KeyFactory.getInstance(keyFactoryAlgorithm);
         return kf.generatePublic(spec);
     }
 
@@ -120,7 +263,7 @@ public class AsymmetricCryptography {
      */
     @SneakyThrows
     public byte[] encrypt(byte[] msg, PublicKey key) {
-        final Cipher cipher = Cipher.getInstance("RSA");
+        final Cipher cipher = ProviderSelector.getCipher(CIPHER_ALGORITHM, provider.get());
         cipher.init(Cipher.ENCRYPT_MODE, key);
         return cipher.doFinal(msg);
     }
@@ -134,13 +277,150 @@ public class AsymmetricCryptography {
      */
     @SneakyThrows
     public byte[] decrypt(byte[] msg, PrivateKey key) {
-        final Cipher cipher = Cipher.getInstance("RSA");
+        final Cipher cipher = ProviderSelector.getCipher(CIPHER_ALGORITHM, provider.get());
         cipher.init(Cipher.DECRYPT_MODE, key);
         return cipher.doFinal(msg);
     }
 
+    /**
+     * <p>wrapKey.</p>
+     * Wraps a symmetric data key with RSA-OAEP for envelope encryption.
+     *
+     * @param dataKey a {@link javax.crypto.SecretKey} object
+     * @param key a {@link java.security.PublicKey} object
+     * @return an array of {@link byte} objects
+     */
+    @SneakyThrows
+    public byte[] wrapKey(SecretKey dataKey, PublicKey key) {
+        final Cipher cipher = ProviderSelector.getCipher(KEY_WRAP_ALGORITHM, provider.get());
+        cipher.init(Cipher.WRAP_MODE, key);
+        return cipher.wrap(dataKey);
+    }
+
+    /**
+     * <p>unwrapKey.</p>
+     * Unwraps an AES data key wrapped with {@link #wrapKey(SecretKey, PublicKey)}.
+     *
+     * @param wrappedKey an array of {@link byte} objects
+     * @param key a {@link java.security.PrivateKey} object
+     * @return a {@link javax.crypto.SecretKey} object
+     */
+    @SneakyThrows
+    public SecretKey unwrapKey(byte[] wrappedKey, PrivateKey key) {
+        final Cipher cipher = ProviderSelector.getCipher(KEY_WRAP_ALGORITHM, provider.get());
+        cipher.init(Cipher.UNWRAP_MODE, key);
+        return (SecretKey) cipher.unwrap(wrappedKey, "AES", Cipher.SECRET_KEY);
+    }
+
+    /**
+     * <p>getCipher.</p>
+     * Gets a cipher from the configured provider, for the symmetric encryption that goes along with the asymmetric keys.
+     *
+     * @param transformation the cipher transformation
+     * @return a {@link javax.crypto.Cipher} object
+     */
+    public Cipher getCipher(String transformation) {
+        return ProviderSelector.getCipher(transformation, provider.get());
+    }
+
+    /**
+     * <p>generateKey.</p>
+     * Generates a symmetric key with the configured provider.
+     *
+     * @param algorithm the key algorithm
+     * @param keySize the key size in bits
+     * @param random the source of randomness
+     * @return a {@link javax.crypto.SecretKey} object
+     */
+    public SecretKey generateKey(String algorithm, int keySize, SecureRandom random) {
+        KeyGenerator keyGenerator = ProviderSelector.getKeyGenerator(algorithm, provider.get());
+        keyGenerator.init(keySize, random);
+        return keyGenerator.generateKey();
+    }
+
+    /**
+     * <p>generateKeyPair.</p>
+     * Generates a key pair on the same curve as the given elliptic curve (EC or XDH) key.
+     *
+     * @param key a {@link java.security.Key} object
+     * @return a {@link java.security.KeyPair} object
+     */
+    @SneakyThrows
+    public KeyPair generateKeyPair(Key key) {
+        KeyPairGenerator generator;
+        if (key instanceof XECKey) {
+            generator = ProviderSelector.getKeyPairGenerator("XDH", keyAgreementProvider.get());
+            generator.initialize(((XECKey) key).getParams());
+        } else if (key instanceof ECKey) {
+            generator = ProviderSelector.getKeyPairGenerator("EC", keyAgreementProvider.get());
+            generator.initialize(((ECKey) key).getParams());
+        } else {
+            throw new IllegalArgumentException("Unsupported key agreement key: " + key.getAlgorithm());
+        }
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * <p>agree.</p>
+     * Computes the ECDH or X25519 shared secret between a private key and a public key.
+     *
+     * @param privateKey a {@link java.security.PrivateKey} object
+     * @param publicKey a {@link java.security.PublicKey} object
+     * @return an array of {@link byte} objects
+     */
+    @SneakyThrows
+    public byte[] agree(PrivateKey privateKey, PublicKey publicKey) {
+        KeyAgreement agreement = ProviderSelector.getKeyAgreement(privateKey instanceof ECKey ? "ECDH" : "XDH", keyAgreementProvider.get());
+        agreement.init(privateKey);
+        agreement.doPhase(publicKey, true);
+        return agreement.generateSecret();
+    }
+
+    /**
+     * <p>deriveKey.</p>
+     * Derives an AES key from a shared secret with HKDF-SHA256 (RFC 5869).
+     *
+     * @param secret an array of {@link byte} objects
+     * @param salt an array of {@link byte} objects
+     * @param info an array of {@link byte} objects
+     * @param keySize the key size in bits, at most 256
+     * @return a {@link javax.crypto.SecretKey} object
+     */
+    @SneakyThrows
+    public SecretKey deriveKey(byte[] secret, byte[] salt, byte[] info, int keySize) {
+        Mac mac = ProviderSelector.getMac(KDF_MAC_ALGORITHM, provider.get());
+        mac.init(new SecretKeySpec(salt, KDF_MAC_ALGORITHM));
+        byte[] pseudoRandomKey = mac.doFinal(secret);
+        mac.init(new SecretKeySpec(pseudoRandomKey, KDF_MAC_ALGORITHM));
+        mac.update(info);
+        mac.update((byte) 1);
+        byte[] okm = mac.doFinal();
+        return new SecretKeySpec(okm, 0, keySize / 8, "AES");
+    }
+
     public enum KeyFormat {
         DER,
         PEM;
     }
+
+    public enum KeyAlgorithm {
+        RSA("RSA"),
+        EC("EC"),
+        X25519("X25519");
+
+        private final String keyFactoryAlgorithm;
+
+        KeyAlgorithm(String keyFactoryAlgorithm) {
+            this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+        }
+
+        /**
+         * <p>getKeyFactoryAlgorithm.</p>
+         *
+         * @return the {@link java.security.KeyFactory} algorithm for the keys
+         */
+        public String getKeyFactoryAlgorithm() {
+            return keyFactoryAlgorithm;
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package com.ulisesbocchio.jasyptspringboot.util;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Security;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>ProviderSelector class.</p>
+ * Resolves the {@link java.security.Provider} used by the encryptors. A provider name is used as is, and the special
+ * name {@value #AUTO} runs a short micro-benchmark of the encryptor's workload on every registered provider that
+ * supports it, and selects the fastest one.
+ *
+ * @author Sergio.U.Bocchio
+ * @version $Id: $Id
+ */
+@Slf4j
+public class ProviderSelector {
+
+    /** Constant <code>AUTO="auto"</code> */
+    public static final String AUTO = "auto";
+    private static final int WARM_UP_ITERATIONS = 16;
+    private static final int ITERATIONS = 32;
+
+    /**
+     * A cryptographic operation timed on each provider.
+     */
+    @FunctionalInterface
+    public interface Workload {
+        /**
+         * <p>Run the operation with the given provider.</p>
+         *
+         * @param provider the provider to use
+         * @throws java.lang.Exception if the provider can't run the operation
+         */
+        void run(Provider provider) throws Exception;
+    }
+
+    /**
+     * <p>Resolve a provider name.</p>
+     *
+     * @param providerName the configured provider name, {@value #AUTO} or null for the default provider
+     * @param algorithm    the algorithm, for logging
+     * @param workload     the operation to benchmark on each provider in {@value #AUTO} mode
+     * @return the provider name, or null for the default provider
+     */
+    public static String select(String providerName, String algorithm, Workload workload) {
+        if (!AUTO.equalsIgnoreCase(providerName)) {
+            return providerName;
+        }
+        Map<String, Long> timings = new LinkedHashMap<>();
+        for (Provider provider : Security.getProviders()) {
+            try {
+                for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                    workload.run(provider);
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < ITERATIONS; i++) {
+                    workload.run(provider);
+                }
+                timings.put(provider.getName(), (System.nanoTime() - start) / ITERATIONS);
+            } catch (Exception e) {
+                log.trace("Provider {} can't be used for {}", provider.getName(), algorithm, e);
+            }
+        }
+        String selected = timings.entrySet().stream()
+                .min(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        log.info("Selected JCE provider {} for {}, nanoseconds per operation: {}", selected, algorithm, timings);
+        return selected;
+    }
+
+    /**
+     * <p>Get a cipher from the given provider.</p>
+     *
+     * @param transformation the cipher transformation
+     * @param providerName   the provider name, or null for the default provider
+     * @return a {@link javax.crypto.Cipher} object
+     */
+    @SneakyThrows
+    public static Cipher getCipher(String transformation, String providerName) {
+        return providerName == null ? Cipher.getInstance(transformation) : Cipher.getInstance(transformation, providerName);
+    }
+
+    /**
+     * <p>Get a key generator from the given provider.</p>
+     *
+     * @param algorithm    the key algorithm
+     * @param providerName the provider name, or null for the default provider
+     * @return a {@link javax.crypto.KeyGenerator} object
+     */
+    @SneakyThrows
+    public static KeyGenerator getKeyGenerator(String algorithm, String providerName) {
+        return providerName == null ? KeyGenerator.getInstance(algorithm) : KeyGenerator.getInstance(algorithm, providerName);
+    }
+
+    /**
+     * <p>Get a key pair generator from the given provider.</p>
+     *
+     * @param algorithm    the key algorithm
+     * @param providerName the provider name, or null for the default provider
+     * @return a {@link java.security.KeyPairGenerator} object
+     */
+    @SneakyThrows
+    public static KeyPairGenerator getKeyPairGenerator(String algorithm, String providerName) {
+        return providerName == null ? KeyPairGenerator.getInstance(algorithm) : KeyPairGenerator.getInstance(algorithm, providerName);
+    }
+
+    /**
+     * <p>Get a key agreement from the given provider.</p>
+     *
+     * @param algorithm    the key agreement algorithm
+     * @param providerName the provider name, or null for the default provider
+     * @return a {@link javax.crypto.KeyAgreement} object
+     */
+    @SneakyThrows
+    public static KeyAgreement getKeyAgreement(String algorithm, String providerName) {
+        return providerName == null ? KeyAgreement.getInstance(algorithm) : KeyAgreement.getInstance(algorithm, providerName);
+    }
+
+    /**
+     * <p>Get a MAC from the given provider.</p>
+     *
+     * @param algorithm    the MAC algorithm
+     * @param providerName the provider name, or null for the default provider
+     * @return a {@link javax.crypto.Mac} object
+     */
+    @SneakyThrows
+    public static Mac getMac(String algorithm, String providerName) {
+        return providerName == null ? Mac.getInstance(algorithm) : Mac.getInstance(algorithm, providerName);
+    }
+}
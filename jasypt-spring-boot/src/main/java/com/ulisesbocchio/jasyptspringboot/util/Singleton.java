@@ -15,7 +15,7 @@ import java.util.function.Supplier;
  */
 public final class Singleton<R> implements Supplier<R> {
 
-    private boolean initialized = false;
+    private volatile boolean initialized = false;
     private volatile Supplier<R> instanceSupplier;
 
     /**
@@ -103,6 +103,15 @@ public final class Singleton<R> implements Supplier<R> {
         };
     }
 
+    /**
+     * <p>isInitialized.</p>
+     *
+     * @return whether the instance has already been supplied
+     */
+    public boolean isInitialized() {
+        return initialized;
+    }
+
     /** {@inheritDoc} */
     @Override
     public R get() {
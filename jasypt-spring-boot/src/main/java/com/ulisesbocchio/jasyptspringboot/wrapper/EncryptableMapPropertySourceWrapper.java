@@ -4,6 +4,7 @@ import com.ulisesbocchio.jasyptspringboot.caching.CachingDelegateEncryptableProp
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySource;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginLookup;
 import org.springframework.boot.origin.OriginTrackedValue;
@@ -30,8 +31,20 @@ public class EncryptableMapPropertySourceWrapper extends MapPropertySource imple
      * @param filter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
      */
     public EncryptableMapPropertySourceWrapper(MapPropertySource delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter) {
+        this(delegate, resolver, filter, new CacheConfigurationProperties());
+    }
+
+    /**
+     * <p>Constructor for EncryptableMapPropertySourceWrapper.</p>
+     *
+     * @param delegate a {@link org.springframework.core.env.MapPropertySource} object
+     * @param resolver a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
+     * @param filter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
+     * @param cacheConfig a {@link com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties} object
+     */
+    public EncryptableMapPropertySourceWrapper(MapPropertySource delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter, CacheConfigurationProperties cacheConfig) {
         super(delegate.getName(), delegate.getSource());
-        encryptableDelegate = new CachingDelegateEncryptablePropertySource<>(delegate, resolver, filter);
+        encryptableDelegate = new CachingDelegateEncryptablePropertySource<>(delegate, resolver, filter, cacheConfig);
     }
 
     /** {@inheritDoc} */
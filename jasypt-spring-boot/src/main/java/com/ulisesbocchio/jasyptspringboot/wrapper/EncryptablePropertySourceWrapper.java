@@ -4,6 +4,7 @@ import com.ulisesbocchio.jasyptspringboot.caching.CachingDelegateEncryptableProp
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySource;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import org.jasypt.encryption.StringEncryptor;
 import org.springframework.core.env.PropertySource;
 
@@ -27,8 +28,20 @@ public class EncryptablePropertySourceWrapper<T> extends PropertySource<T> imple
      * @param filter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
      */
     public EncryptablePropertySourceWrapper(PropertySource<T> delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter) {
+        this(delegate, resolver, filter, new CacheConfigurationProperties());
+    }
+
+    /**
+     * <p>Constructor for EncryptablePropertySourceWrapper.</p>
+     *
+     * @param delegate a {@link org.springframework.core.env.PropertySource} object
+     * @param resolver a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver} object
+     * @param filter a {@link com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter} object
+     * @param cacheConfig a {@link com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties} object
+     */
+    public EncryptablePropertySourceWrapper(PropertySource<T> delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter, CacheConfigurationProperties cacheConfig) {
         super(delegate.getName(), delegate.getSource());
-        encryptableDelegate = new CachingDelegateEncryptablePropertySource<>(delegate, resolver, filter);
+        encryptableDelegate = new CachingDelegateEncryptablePropertySource<>(delegate, resolver, filter, cacheConfig);
     }
 
     /** {@inheritDoc} */
@@ -4,6 +4,7 @@ import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyFilter;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
 import com.ulisesbocchio.jasyptspringboot.EncryptablePropertySource;
 import com.ulisesbocchio.jasyptspringboot.caching.CachingDelegateEncryptablePropertySource;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
 import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.SystemEnvironmentOrigin;
 import org.springframework.core.env.PropertySource;
@@ -31,8 +32,20 @@ public class EncryptableSystemEnvironmentPropertySourceWrapper extends SystemEnv
      * @param filter   a {@link EncryptablePropertyFilter} object
      */
     public EncryptableSystemEnvironmentPropertySourceWrapper(SystemEnvironmentPropertySource delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter) {
+        this(delegate, resolver, filter, new CacheConfigurationProperties());
+    }
+
+    /**
+     * <p>Constructor for EncryptableSystemEnvironmentPropertySourceWrapper.</p>
+     *
+     * @param delegate a {@link SystemEnvironmentPropertySource} object
+     * @param resolver a {@link EncryptablePropertyResolver} object
+     * @param filter   a {@link EncryptablePropertyFilter} object
+     * @param cacheConfig a {@link com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties} object
+     */
+    public EncryptableSystemEnvironmentPropertySourceWrapper(SystemEnvironmentPropertySource delegate, EncryptablePropertyResolver resolver, EncryptablePropertyFilter filter, CacheConfigurationProperties cacheConfig) {
         super(delegate.getName(), delegate.getSource());
-        encryptableDelegate = new CachingDelegateEncryptablePropertySource<>(delegate, resolver, filter);
+        encryptableDelegate = new CachingDelegateEncryptablePropertySource<>(delegate, resolver, filter, cacheConfig);
     }
 
     /**
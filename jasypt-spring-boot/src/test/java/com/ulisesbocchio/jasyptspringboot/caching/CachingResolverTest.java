@@ -0,0 +1,516 @@
+package com.ulisesbocchio.jasyptspringboot.caching;
+
+import com.ulisesbocchio.jasyptspringboot.EncryptablePropertyResolver;
+import com.ulisesbocchio.jasyptspringboot.detector.DefaultPropertyDetector;
+import com.ulisesbocchio.jasyptspringboot.exception.DecryptionException;
+import com.ulisesbocchio.jasyptspringboot.filter.DefaultPropertyFilter;
+import com.ulisesbocchio.jasyptspringboot.properties.JasyptEncryptorConfigurationProperties.CacheConfigurationProperties;
+import com.ulisesbocchio.jasyptspringboot.wrapper.EncryptableMapPropertySourceWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingResolverTest {
+
+    private final AtomicInteger decryptions = new AtomicInteger();
+
+    private final EncryptablePropertyResolver resolver = value -> {
+        if (value.startsWith("ENC(") && value.endsWith(")")) {
+            decryptions.incrementAndGet();
+            return "decrypted-" + value.substring(4, value.length() - 1);
+        }
+        return value;
+    };
+
+    private CachingResolver cachingResolver(String name, Map<String, Object> properties, CacheConfigurationProperties config) {
+        return new CachingResolver(resolver, new DefaultPropertyFilter(), new MapPropertySource(name, properties), config);
+    }
+
+    @Test
+    public void resolves_once_per_source_by_default() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        properties.put("plain", "value");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        CachingResolver first = cachingResolver("first", properties, config);
+        CachingResolver second = cachingResolver("second", properties, config);
+
+        assertEquals("decrypted-abc", first.resolveProperty("secret"));
+        assertEquals("decrypted-abc", first.resolveProperty("secret"));
+        assertEquals("decrypted-abc", second.resolveProperty("secret"));
+        assertEquals("value", second.resolveProperty("plain"));
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    public void shared_cache_decrypts_once_across_sources() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setShared(true);
+        CachingResolver first = cachingResolver("first", properties, config);
+        CachingResolver second = cachingResolver("second", properties, config);
+
+        assertEquals("decrypted-abc", first.resolveProperty("secret"));
+        assertEquals("decrypted-abc", second.resolveProperty("secret"));
+        assertEquals(1, decryptions.get());
+
+        assertEquals(1, first.refreshAndCount());
+        assertEquals("decrypted-abc", second.resolveProperty("secret"));
+        assertEquals("decrypted-abc", first.resolveProperty("secret"));
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    public void shared_cache_is_bounded_and_evicted_by_relaxed_names() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("relaxed", "ENC(${MY_SECRET})");
+        properties.put("longer", "ENC(${my.secret-key})");
+        properties.put("other", "ENC(other)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setShared(true);
+        config.setMaxEntries(2);
+        config.setStorage(CacheStorage.OFF_HEAP);
+        CachingResolver first = cachingResolver("first", properties, config);
+        first.resolveProperty("relaxed");
+        first.resolveProperty("longer");
+        assertEquals(2, decryptions.get());
+
+        first.refresh(Collections.singleton("my.secret"));
+        CachingResolver second = cachingResolver("second", properties, config);
+        assertEquals("decrypted-${MY_SECRET}", second.resolveProperty("relaxed"));
+        assertEquals("decrypted-${my.secret-key}", second.resolveProperty("longer"));
+        assertEquals(3, decryptions.get());
+
+        //Bounded to two entries, "relaxed" is the least recently used one
+        second.resolveProperty("other");
+        CachingResolver third = cachingResolver("third", properties, config);
+        third.resolveProperty("longer");
+        assertEquals(4, decryptions.get());
+        third.resolveProperty("relaxed");
+        assertEquals(5, decryptions.get());
+    }
+
+    @Test
+    public void bounded_cache_evicts_least_recently_used() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hot", "ENC(hot)");
+        properties.put("cold", "ENC(cold)");
+        properties.put("new", "ENC(new)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setMaxEntries(2);
+        CachingResolver cachingResolver = cachingResolver("bounded", properties, config);
+
+        cachingResolver.resolveProperty("hot");
+        cachingResolver.resolveProperty("cold");
+        cachingResolver.resolveProperty("hot");
+        cachingResolver.resolveProperty("new");
+        assertEquals(3, decryptions.get());
+
+        assertEquals("decrypted-hot", cachingResolver.resolveProperty("hot"));
+        assertEquals("decrypted-new", cachingResolver.resolveProperty("new"));
+        assertEquals(3, decryptions.get());
+        assertEquals("decrypted-cold", cachingResolver.resolveProperty("cold"));
+        assertEquals(4, decryptions.get());
+    }
+
+    @Test
+    public void bounded_cache_evicts_by_weight() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("a", "ENC(1)");
+        properties.put("b", "ENC(2)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        // each entry weighs 1 (name) + 6 (origin) + 11 (resolved) = 18
+        config.setMaxWeight(20);
+        CachingResolver cachingResolver = cachingResolver("weighted", properties, config);
+
+        cachingResolver.resolveProperty("a");
+        cachingResolver.resolveProperty("b");
+        cachingResolver.resolveProperty("b");
+        assertEquals(2, decryptions.get());
+        cachingResolver.resolveProperty("a");
+        assertEquals(3, decryptions.get());
+    }
+
+    @Test
+    public void compact_cache_weighs_origin_fingerprint() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("a", "ENC(1)");
+        properties.put("b", "ENC(2)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setCompact(true);
+        // each entry weighs 1 (name) + 24 (fingerprint) + 11 (resolved) = 36
+        config.setMaxWeight(40);
+        CachingResolver cachingResolver = cachingResolver("compact-weighted", properties, config);
+
+        cachingResolver.resolveProperty("a");
+        cachingResolver.resolveProperty("b");
+        cachingResolver.resolveProperty("a");
+        assertEquals(3, decryptions.get());
+    }
+
+    @Test
+    public void concurrent_misses_decrypt_once() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        EncryptablePropertyResolver slowResolver = value -> {
+            decryptions.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "decrypted";
+        };
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        CachingResolver cachingResolver = new CachingResolver(slowResolver, new DefaultPropertyFilter(), new MapPropertySource("slow", properties));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> cachingResolver.resolveProperty("secret")))
+                    .collect(Collectors.toList());
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Object> result : results) {
+                assertEquals("decrypted", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, decryptions.get());
+    }
+
+    @Test
+    public void generational_refresh_serves_previous_generation_until_published() throws Exception {
+        AtomicInteger version = new AtomicInteger(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EncryptablePropertyResolver versionedResolver = value -> {
+            decryptions.incrementAndGet();
+            if (version.get() > 1) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "v" + version.get();
+        };
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setRefreshMode(CacheRefreshMode.GENERATIONAL);
+        CachingResolver cachingResolver = new CachingResolver(versionedResolver, new DefaultPropertyFilter(), new MapPropertySource("generational", properties), config);
+
+        assertEquals("v1", cachingResolver.resolveProperty("secret"));
+        version.set(2);
+        CompletableFuture<Void> refreshed = cachingResolver.refreshGeneration();
+        assertEquals("v1", cachingResolver.resolveProperty("secret"));
+        release.countDown();
+        refreshed.get(5, TimeUnit.SECONDS);
+
+        assertEquals("v2", cachingResolver.resolveProperty("secret"));
+        assertEquals("v2", cachingResolver.resolveProperty("secret"));
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    public void generational_refresh_keeps_misses_resolved_while_building() throws Exception {
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EncryptablePropertyResolver blockingResolver = value -> {
+            decryptions.incrementAndGet();
+            if (value.equals("ENC(abc)") && decryptions.get() > 1) {
+                building.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "decrypted-" + value;
+        };
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setRefreshMode(CacheRefreshMode.GENERATIONAL);
+        CachingResolver cachingResolver = new CachingResolver(blockingResolver, new DefaultPropertyFilter(), new MapPropertySource("generational", properties), config);
+        cachingResolver.resolveProperty("secret");
+
+        CompletableFuture<Void> refreshed = cachingResolver.refreshGeneration();
+        assertTrue(building.await(5, TimeUnit.SECONDS));
+        properties.put("late", "ENC(late)");
+        assertEquals("decrypted-ENC(late)", cachingResolver.resolveProperty("late"));
+        assertEquals("decrypted-ENC(late)", cachingResolver.resolveProperty("late"));
+        release.countDown();
+        refreshed.get(5, TimeUnit.SECONDS);
+
+        assertEquals("decrypted-ENC(late)", cachingResolver.resolveProperty("late"));
+        assertEquals("decrypted-ENC(abc)", cachingResolver.resolveProperty("secret"));
+        assertEquals(3, decryptions.get());
+    }
+
+    @Test
+    public void targeted_refresh_evicts_changed_keys_only() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("my-flag", "ENC(1)");
+        properties.put("other", "ENC(2)");
+        properties.put("ref", "ENC(${my.flag})");
+        CachingResolver cachingResolver = cachingResolver("targeted", properties, new CacheConfigurationProperties());
+        properties.keySet().forEach(cachingResolver::resolveProperty);
+        assertEquals(3, decryptions.get());
+
+        assertEquals(2, cachingResolver.refresh(Collections.singleton("my.flag")));
+        properties.keySet().forEach(cachingResolver::resolveProperty);
+        assertEquals(5, decryptions.get());
+    }
+
+    @Test
+    public void warm_up_decrypts_encrypted_properties_ahead() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        properties.put("plain", "value");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        EncryptableMapPropertySourceWrapper source = new EncryptableMapPropertySourceWrapper(new MapPropertySource("warm", properties), resolver, new DefaultPropertyFilter(), config);
+
+        int warmed = new EncryptablePropertiesWarmUp(new DefaultPropertyDetector(), config).warmUp(Collections.singletonList(source));
+        assertEquals(1, warmed);
+        assertEquals(1, decryptions.get());
+        assertEquals("decrypted-abc", source.getProperty("secret"));
+        assertEquals(1, decryptions.get());
+    }
+
+    @Test
+    public void warm_up_leaves_failures_for_first_access() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        properties.put("broken", "ENC(broken)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        EncryptablePropertyResolver failing = value -> {
+            if (value.equals("ENC(broken)")) {
+                throw new DecryptionException("Unable to decrypt " + value);
+            }
+            return resolver.resolvePropertyValue(value);
+        };
+        EncryptableMapPropertySourceWrapper source = new EncryptableMapPropertySourceWrapper(new MapPropertySource("warm", properties), failing, new DefaultPropertyFilter(), config);
+
+        int warmed = new EncryptablePropertiesWarmUp(new DefaultPropertyDetector(), config).warmUp(Collections.singletonList(source));
+        assertEquals(1, warmed);
+        int decrypted = decryptions.get();
+        assertEquals("decrypted-abc", source.getProperty("secret"));
+        assertEquals(decrypted, decryptions.get());
+        assertThrows(DecryptionException.class, () -> source.getProperty("broken"));
+    }
+
+    @Test
+    public void warm_up_timeout_lets_running_decryptions_finish() throws Exception {
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setWarmUpParallelism(1);
+        config.setWarmUpTimeout(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        EncryptablePropertyResolver blocking = value -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                Thread.currentThread().interrupt();
+            }
+            return resolver.resolvePropertyValue(value);
+        };
+        List<PropertySource<?>> sources = List.of(
+                new EncryptableMapPropertySourceWrapper(new MapPropertySource("slow", Map.of("slow", "ENC(slow)")), blocking, new DefaultPropertyFilter(), config),
+                new EncryptableMapPropertySourceWrapper(new MapPropertySource("other", Map.of("other", "ENC(other)")), blocking, new DefaultPropertyFilter(), config));
+
+        int warmed = new EncryptablePropertiesWarmUp(new DefaultPropertyDetector(), config).warmUp(sources);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(0, warmed);
+        release.countDown();
+        //The running decryption completes and no other one is started
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (decryptions.get() == 0 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(1, decryptions.get());
+        assertEquals(0, interrupted.get());
+        //The warm-up pool is shut down, its threads end once the running decryption completes
+        while (Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> thread.getName().startsWith("jasypt-warm-up-")) && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertTrue(Thread.getAllStackTraces().keySet().stream().noneMatch(thread -> thread.getName().startsWith("jasypt-warm-up-")));
+    }
+
+    @Test
+    public void warm_up_resolves_each_batch_in_one_call() {
+        Map<String, Object> properties = new HashMap<>();
+        IntStream.range(0, 10).forEach(i -> properties.put("secret" + i, "ENC(" + i + ")"));
+        properties.put("plain", "value");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setWarmUpParallelism(2);
+        AtomicInteger batches = new AtomicInteger();
+        EncryptablePropertyResolver batchResolver = new EncryptablePropertyResolver() {
+            @Override
+            public String resolvePropertyValue(String value) {
+                return resolver.resolvePropertyValue(value);
+            }
+
+            @Override
+            public List<String> resolvePropertyValues(List<String> values) {
+                batches.incrementAndGet();
+                return EncryptablePropertyResolver.super.resolvePropertyValues(values);
+            }
+        };
+        EncryptableMapPropertySourceWrapper source = new EncryptableMapPropertySourceWrapper(new MapPropertySource("warm", properties), batchResolver, new DefaultPropertyFilter(), config);
+
+        assertEquals(10, new EncryptablePropertiesWarmUp(new DefaultPropertyDetector(), config).warmUp(Collections.singletonList(source)));
+        assertEquals(2, batches.get());
+        assertEquals(10, decryptions.get());
+        assertEquals("decrypted-7", source.getProperty("secret7"));
+        assertEquals(10, decryptions.get());
+    }
+
+    @Test
+    public void off_heap_values_are_released_on_refresh() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setStorage(CacheStorage.OFF_HEAP);
+        CachingResolver cachingResolver = cachingResolver("off-heap", properties, config);
+
+        assertEquals("decrypted-abc", cachingResolver.resolveProperty("secret"));
+        assertEquals("decrypted-abc", cachingResolver.resolveProperty("secret"));
+        assertEquals(1, decryptions.get());
+
+        CachedValue value = CachedValue.of(config, "ENC(abc)", "decrypted-abc");
+        value.release();
+        assertTrue(value.isReleased());
+        assertNull(value.resolvedValue());
+
+        cachingResolver.refresh();
+        assertEquals("decrypted-abc", cachingResolver.resolveProperty("secret"));
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    public void compact_cache_matches_origin_by_fingerprint() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setCompact(true);
+        CachingResolver cachingResolver = cachingResolver("compact", properties, config);
+
+        assertEquals("decrypted-abc", cachingResolver.resolveProperty("secret"));
+        properties.put("secret", new String("ENC(abc)"));
+        assertEquals("decrypted-abc", cachingResolver.resolveProperty("secret"));
+        assertEquals(1, decryptions.get());
+
+        properties.put("secret", "ENC(abd)");
+        assertEquals("decrypted-abd", cachingResolver.resolveProperty("secret"));
+        assertEquals(2, decryptions.get());
+
+        CachedValue value = CachedValue.of(config, "ENC(abc)", "decrypted-abc");
+        assertTrue(value.isFor(new String("ENC(abc)")));
+        assertFalse(value.isFor("ENC(abd)"));
+        assertFalse(value.isFor("ENC(abcd)"));
+    }
+
+    @Test
+    public void failed_decryptions_are_remembered_until_refresh() {
+        EncryptablePropertyResolver failingResolver = value -> {
+            decryptions.incrementAndGet();
+            throw new DecryptionException("Unable to decrypt property: " + value, new IllegalStateException());
+        };
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(bad)");
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setFailureTtl(Duration.ofMinutes(1));
+        CachingResolver cachingResolver = new CachingResolver(failingResolver, new DefaultPropertyFilter(), new MapPropertySource("failing", properties), config);
+
+        assertThrows(DecryptionException.class, () -> cachingResolver.resolveProperty("secret"));
+        DecryptionException remembered = assertThrows(DecryptionException.class, () -> cachingResolver.resolveProperty("secret"));
+        assertEquals(0, remembered.getStackTrace().length);
+        assertEquals(1, decryptions.get());
+
+        cachingResolver.refresh();
+        assertThrows(DecryptionException.class, () -> cachingResolver.resolveProperty("secret"));
+        assertEquals(2, decryptions.get());
+    }
+
+    @Test
+    public void tagged_sources_only_resolve_tagged_properties() {
+        AtomicInteger resolutions = new AtomicInteger();
+        EncryptablePropertyResolver taggingResolver = taggingResolver(resolutions);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "ENC(abc)");
+        properties.put("plain", "value");
+        OriginTrackedMapPropertySource source = new OriginTrackedMapPropertySource("tagged", properties, true);
+        CacheConfigurationProperties config = new CacheConfigurationProperties();
+        config.setTagEncryptedKeys(true);
+        CachingResolver cachingResolver = new CachingResolver(taggingResolver, new DefaultPropertyFilter(), source, config);
+
+        assertEquals("value", cachingResolver.resolveProperty("plain"));
+        assertEquals("decrypted-abc", cachingResolver.resolveProperty("secret"));
+        assertEquals("value", cachingResolver.resolveProperty("plain"));
+        assertEquals(1, resolutions.get());
+        assertEquals(Collections.singleton("secret"), EncryptedPropertyKeys.getInstance().get(source));
+        //Mutable sources may change afterwards, they are never tagged
+        assertNull(EncryptedPropertyKeys.getInstance().tag(new MapPropertySource("mutable", properties), taggingResolver));
+    }
+
+    @Test
+    public void loaded_property_sources_are_tagged() throws IOException {
+        PropertySourceLoader loader = new EncryptedKeysPropertySourceLoader(new PropertiesPropertySourceLoader(), taggingResolver(new AtomicInteger()));
+        Resource resource = new ByteArrayResource("secret=ENC(abc)\nurl=${host}/path\nplain=value\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        List<PropertySource<?>> propertySources = loader.load("loaded", resource);
+
+        assertEquals(1, propertySources.size());
+        assertEquals(Set.of("secret", "url"), EncryptedPropertyKeys.getInstance().get(propertySources.get(0)));
+    }
+
+    private EncryptablePropertyResolver taggingResolver(AtomicInteger resolutions) {
+        return new EncryptablePropertyResolver() {
+            @Override
+            public String resolvePropertyValue(String value) {
+                resolutions.incrementAndGet();
+                return resolver.resolvePropertyValue(value);
+            }
+
+            @Override
+            public boolean mayResolve(String value) {
+                return value.startsWith("ENC(") || value.contains("${");
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.ulisesbocchio.jasyptspringboot.detector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultPropertyDetectorTest {
+
+    @Test
+    public void isEncrypted_default_prefix_suffix() {
+        DefaultPropertyDetector detector = new DefaultPropertyDetector();
+        assertTrue(detector.isEncrypted("ENC(abc)"));
+        assertTrue(detector.isEncrypted("  ENC(abc)\t\n"));
+        assertTrue(detector.isEncrypted("ENC()"));
+        assertFalse(detector.isEncrypted("ENC(abc"));
+        assertFalse(detector.isEncrypted("abc)"));
+        assertFalse(detector.isEncrypted(" ENC( "));
+        assertFalse(detector.isEncrypted("   "));
+        assertFalse(detector.isEncrypted(null));
+    }
+
+    @Test
+    public void unwrapEncryptedValue_skips_whitespace() {
+        DefaultPropertyDetector detector = new DefaultPropertyDetector("{cipher}", "");
+        assertEquals("abc", detector.unwrapEncryptedValue("{cipher}abc"));
+        assertEquals("abc", detector.unwrapEncryptedValue("  {cipher}abc  "));
+        assertTrue(detector.isEncrypted(" {cipher}abc "));
+        assertFalse(detector.isEncrypted("abc"));
+    }
+}
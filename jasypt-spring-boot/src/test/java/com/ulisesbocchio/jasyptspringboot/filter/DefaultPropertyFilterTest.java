@@ -12,6 +12,7 @@ import org.springframework.core.env.PropertySource;
 import java.util.Collections;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -210,4 +211,32 @@ public class DefaultPropertyFilterTest {
         MapPropertySource source = new MapPropertySource("applicationConfig", Collections.emptyMap());
         assertFalse(filter.shouldInclude(source, "some.property"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldInclude_cachedDecisions_by_source_and_property() {
+        DefaultPropertyFilter filter = new DefaultPropertyFilter(null, Collections.singletonList("bootstrap"), null, Collections.singletonList("jasypt\\.encryptor\\..*"));
+        MapPropertySource source = new MapPropertySource("applicationConfig", Collections.emptyMap());
+        MapPropertySource bootstrap = new MapPropertySource("bootstrap", Collections.emptyMap());
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(filter.shouldInclude(source, "some.property" + i % 10));
+            assertFalse(filter.shouldInclude(bootstrap, "some.property" + i % 10));
+            assertFalse(filter.shouldInclude(source, "jasypt.encryptor.password"));
+            assertTrue(filter.shouldInclude(source, "unique.property" + i));
+        }
+        assertTrue(filter.cachedDecisions() <= 4096);
+    }
+
+    @Test
+    public void cachedDecisions_keep_recently_used_under_unique_names() {
+        DefaultPropertyFilter filter = new DefaultPropertyFilter(null, null, null, Collections.singletonList("jasypt\\.encryptor\\..*"));
+        MapPropertySource source = new MapPropertySource("applicationConfig", Collections.emptyMap());
+        MapPropertySource random = new MapPropertySource("random", Collections.emptyMap());
+        assertTrue(filter.shouldInclude(source, "some.property"));
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(filter.shouldInclude(random, "random.value" + i));
+            assertTrue(filter.shouldInclude(source, "some.property"));
+        }
+        assertEquals(4096, filter.cachedDecisions());
+        assertFalse(filter.shouldInclude(source, "jasypt.encryptor.password"));
+    }
+}
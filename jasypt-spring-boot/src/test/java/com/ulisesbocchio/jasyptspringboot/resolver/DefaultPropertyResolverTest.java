@@ -0,0 +1,123 @@
+package com.ulisesbocchio.jasyptspringboot.resolver;
+
+import com.ulisesbocchio.jasyptspringboot.detector.DefaultPropertyDetector;
+import org.jasypt.encryption.StringEncryptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultPropertyResolverTest {
+
+    private final StringEncryptor encryptor = new StringEncryptor() {
+        @Override
+        public String encrypt(String message) {
+            return new StringBuilder(message).reverse().toString();
+        }
+
+        @Override
+        public String decrypt(String encryptedMessage) {
+            return new StringBuilder(encryptedMessage).reverse().toString();
+        }
+    };
+
+    @Test
+    public void resolvePropertyValue_memoizes_placeholders_until_refresh() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("secret", "terces");
+        properties.put("other", "rehto");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        DefaultPropertyResolver resolver = new DefaultPropertyResolver(encryptor, environment);
+
+        assertEquals("plain", resolver.resolvePropertyValue("plain"));
+        assertEquals("secret", resolver.resolvePropertyValue("ENC(${secret})"));
+        assertEquals("other", resolver.resolvePropertyValue("ENC(${other})"));
+        assertEquals("${missing}", resolver.resolvePropertyValue("${missing}"));
+
+        properties.put("secret", "terces-wen");
+        properties.put("other", "rehto-wen");
+        properties.put("missing", "ENC(gnissim)");
+        assertEquals("secret", resolver.resolvePropertyValue("ENC(${secret})"));
+        assertEquals("missing", resolver.resolvePropertyValue("${missing}"));
+
+        resolver.refresh(Collections.singletonList("secret"));
+        assertEquals("new-secret", resolver.resolvePropertyValue("ENC(${secret})"));
+        assertEquals("new-other", resolver.resolvePropertyValue("ENC(${other})"));
+
+        properties.put("other", "rehto-tsewen");
+        assertEquals("new-other", resolver.resolvePropertyValue("ENC(${other})"));
+        resolver.refresh();
+        assertEquals("newest-other", resolver.resolvePropertyValue("ENC(${other})"));
+    }
+
+    @Test
+    public void refresh_names_forgets_relaxed_and_transitive_placeholders() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("FOO_BAR", "oof");
+        properties.put("alias", "${target}");
+        properties.put("target", "terces");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SystemEnvironmentPropertySource("test", properties));
+        DefaultPropertyResolver resolver = new DefaultPropertyResolver(encryptor, environment);
+
+        assertEquals("foo", resolver.resolvePropertyValue("ENC(${foo.bar})"));
+        assertEquals("secret", resolver.resolvePropertyValue("ENC(${alias})"));
+
+        properties.put("FOO_BAR", "oof-wen");
+        resolver.refresh(Collections.singletonList("FOO_BAR"));
+        assertEquals("new-foo", resolver.resolvePropertyValue("ENC(${foo.bar})"));
+
+        properties.put("target", "terces-wen");
+        resolver.refresh(Collections.singletonList("target"));
+        assertEquals("new-secret", resolver.resolvePropertyValue("ENC(${alias})"));
+    }
+
+    @Test
+    public void resolvePropertyValue_forgets_placeholders_when_property_sources_change() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("defaults", Collections.singletonMap("secret", "terces")));
+        DefaultPropertyResolver resolver = new DefaultPropertyResolver(encryptor, environment);
+
+        assertEquals("secret", resolver.resolvePropertyValue("ENC(${secret})"));
+
+        environment.getPropertySources().addFirst(new MapPropertySource("config-server", Collections.singletonMap("secret", "terces-gifnoc")));
+        assertEquals("config-secret", resolver.resolvePropertyValue("ENC(${secret})"));
+
+        environment.getPropertySources().replace("config-server", new MapPropertySource("config-server", Collections.singletonMap("secret", "terces-dexif")));
+        assertEquals("fixed-secret", resolver.resolvePropertyValue("ENC(${secret})"));
+
+        environment.getPropertySources().remove("config-server");
+        assertEquals("secret", resolver.resolvePropertyValue("ENC(${secret})"));
+    }
+
+    @Test
+    public void inline_resolvePropertyValue_decrypts_embedded_segments() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Collections.singletonMap("password", "terces")));
+        InlinePropertyResolver resolver = new InlinePropertyResolver(encryptor, "ENC(", ")", environment);
+
+        assertEquals("jdbc:mysql://host/db?user=admin&password=secret", resolver.resolvePropertyValue("jdbc:mysql://host/db?user=ENC(nimda)&password=ENC(${password})"));
+        assertEquals("secret", resolver.resolvePropertyValue("  ENC(terces) "));
+        assertEquals("{\"a\": \"secret\", \"b\": \"ENC(unclosed\"}", resolver.resolvePropertyValue("{\"a\": \"ENC(terces)\", \"b\": \"ENC(unclosed\"}"));
+        assertEquals("plain", resolver.resolvePropertyValue("plain"));
+    }
+
+    @Test
+    public void inline_resolvePropertyValue_uses_detector_for_values_without_segments() {
+        StandardEnvironment environment = new StandardEnvironment();
+        InlinePropertyResolver resolver = new InlinePropertyResolver(encryptor, new DefaultPropertyDetector("SECRET[", "]"), "ENC(", ")", environment);
+
+        assertEquals("secret", resolver.resolvePropertyValue("SECRET[terces]"));
+        assertEquals("user=admin&password=secret", resolver.resolvePropertyValue("user=ENC(nimda)&password=ENC(terces)"));
+        assertTrue(resolver.mayResolve("SECRET[terces]"));
+        assertEquals("plain", resolver.resolvePropertyValue("plain"));
+    }
+}